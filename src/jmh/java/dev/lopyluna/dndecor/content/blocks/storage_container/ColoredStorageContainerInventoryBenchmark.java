@@ -0,0 +1,99 @@
+package dev.lopyluna.dndecor.content.blocks.storage_container;
+
+import com.simibubi.create.foundation.item.ItemHelper;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Parts are plain inventories with no block entity, so only item registries are bootstrapped.
+// Run with: ./gradlew jmh   (results in build/results/jmh/results.json)
+// or a single case: ./gradlew jmh -PjmhIncludes=ColoredStorageContainerInventoryBenchmark.countItem
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ColoredStorageContainerInventoryBenchmark {
+
+    // Create's default vaultCapacity
+    private static final int SLOTS_PER_PART = 20;
+    private static final Item[] FILL_ITEMS = { Items.COBBLESTONE, Items.DIRT, Items.OAK_LOG, Items.IRON_INGOT, Items.GOLD_INGOT,
+            Items.REDSTONE, Items.DIAMOND, Items.ENDER_PEARL, Items.SNOWBALL, Items.STONE };
+
+    @Param({ "1x1x1", "2x2x6", "3x3x9" })
+    public String layout;
+
+    @Param({ "0", "0.95" })
+    public double fill;
+
+    private ColoredStorageContainerItemHandler handler;
+    private ItemStack probe;
+    private ItemStack probeStack;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+
+        String[] dimensions = layout.split("x");
+        int parts = Integer.parseInt(dimensions[0]) * Integer.parseInt(dimensions[1]) * Integer.parseInt(dimensions[2]);
+
+        List<ColoredStorageContainerInventory> inventories = new ArrayList<>(parts);
+        for (int i = 0; i < parts; i++)
+            inventories.add(new ColoredStorageContainerInventory(null, SLOTS_PER_PART));
+        handler = new ColoredStorageContainerItemHandler(inventories);
+
+        int filled = (int) (handler.getSlots() * fill);
+        for (int slot = 0; slot < filled; slot++) {
+            Item item = FILL_ITEMS[slot % FILL_ITEMS.length];
+            handler.setStackInSlot(slot, new ItemStack(item, item.getDefaultMaxStackSize()));
+        }
+
+        probe = new ItemStack(Items.STONE);
+        probeStack = new ItemStack(Items.STONE, 32);
+    }
+
+    @Benchmark
+    public ItemStack insertThenExtract() {
+        handler.insertItemStacked(probeStack.copy(), false);
+        return handler.extractItem(probe, probeStack.getCount(), false);
+    }
+
+    @Benchmark
+    public ItemStack insertSimulated() {
+        return handler.insertItemStacked(probeStack, true);
+    }
+
+    @Benchmark
+    public ItemStack extractSimulated() {
+        return handler.extractItem(probe, 64, true);
+    }
+
+    @Benchmark
+    public int countItem() {
+        return handler.countItem(probe);
+    }
+
+    @Benchmark
+    public int comparatorSignal() {
+        return handler.computeComparatorSignal();
+    }
+
+    @Benchmark
+    public int comparatorSignalFullScan() {
+        return ItemHelper.calcRedstoneFromInventory(handler);
+    }
+}
@@ -0,0 +1,141 @@
+package dev.lopyluna.dndecor.content.blocks.full_belt;
+
+import com.simibubi.create.content.kinetics.belt.BeltBlockEntity;
+import com.simibubi.create.content.kinetics.belt.transport.BeltInventory;
+import com.simibubi.create.content.kinetics.belt.transport.TransportedItemStack;
+import dev.engine_room.flywheel.api.visualization.VisualizationContext;
+import dev.engine_room.flywheel.lib.instance.InstanceTypes;
+import dev.engine_room.flywheel.lib.instance.TransformedInstance;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.client.renderer.LevelRenderer;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Vec3i;
+import net.minecraft.util.Mth;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.Map;
+import java.util.Random;
+
+public class FullBeltItemInstances {
+
+	protected final VisualizationContext context;
+	protected final BeltBlockEntity be;
+	protected final Vec3i visualPos;
+	protected final Map<TransportedItemStack, ItemInstance> items = new Reference2ObjectOpenHashMap<>();
+	protected final BlockPos.MutableBlockPos lightPos = new BlockPos.MutableBlockPos();
+	protected final FullBeltItems.Placement placement = new FullBeltItems.Placement();
+	protected int frame;
+	protected int lastSegment;
+
+	public FullBeltItemInstances(VisualizationContext context, BeltBlockEntity be, Vec3i visualPos) {
+		this.context = context;
+		this.be = be;
+		this.visualPos = visualPos;
+	}
+
+	public void beginFrame(float pt, Vec3 camera) {
+		if (!be.isController() || be.beltLength == 0) {
+			delete();
+			return;
+		}
+		BeltInventory inventory = be.getInventory();
+		if (inventory == null || !FullBeltItems.canInstance(be)) {
+			delete();
+			return;
+		}
+
+		frame++;
+		lastSegment = Integer.MIN_VALUE;
+		for (TransportedItemStack transported : inventory.getTransportedItems()) update(transported, pt, camera);
+		TransportedItemStack lazy = inventory.getLazyClientItem();
+		if (lazy != null) update(lazy, pt, camera);
+
+		items.values().removeIf(item -> {
+			if (item.frame == frame) return false;
+			item.delete();
+			return true;
+		});
+	}
+
+	protected void update(TransportedItemStack transported, float pt, Vec3 camera) {
+		int layers = (int) (Mth.log2(transported.stack.getCount())) / 2 + 1;
+		ItemInstance item = items.get(transported);
+		// The model is only resolved again once the belt hands this entry a different stack
+		if (item == null || item.stack != transported.stack || item.layers.length != layers) {
+			BakedModel bakedModel = FullBeltItems.getModel(be, transported.stack);
+			if (item == null || item.bakedModel != bakedModel || item.layers.length != layers) {
+				if (item != null) item.delete();
+				item = new ItemInstance(bakedModel, layers, transported.angle);
+				items.put(transported, item);
+			}
+			item.stack = transported.stack;
+		}
+		item.frame = frame;
+
+		placement.compute(be, transported, pt);
+		FullBeltItems.Detail detail = FullBeltItems.detailAt(placement.distanceSqr(be.getBlockPos(), camera));
+		if (detail == FullBeltItems.Detail.GROUPED && placement.segment == lastSegment) detail = FullBeltItems.Detail.CULLED;
+		if (detail != FullBeltItems.Detail.CULLED) lastSegment = placement.segment;
+		position(item, transported, detail);
+	}
+
+	protected void position(ItemInstance item, TransportedItemStack transported, FullBeltItems.Detail detail) {
+		Level level = be.getLevel();
+		int light = level == null ? 0 : LevelRenderer.getLightColor(level, placement.blockPos(be.getBlockPos(), lightPos));
+		int visibleLayers = detail == FullBeltItems.Detail.FULL ? item.layers.length : detail == FullBeltItems.Detail.CULLED ? 0 : 1;
+
+		FullBeltItems.ItemModel model = item.model;
+		for (int i = 0; i < item.layers.length; i++) {
+			TransformedInstance instance = item.layers[i];
+			if (i >= visibleLayers) {
+				instance.setZeroTransform().setChanged();
+				continue;
+			}
+			placement.apply(instance.setIdentityTransform().translate(visualPos.getX(), visualPos.getY(), visualPos.getZ()), transported.angle);
+
+			if (!model.blockItem()) instance.rotateYDegrees(10 * i);
+			instance.translate(0, (model.blockItem() ? 1 / 64f : 1 / 16f) * i, 0)
+					.rotateYDegrees(transported.angle);
+			if (!model.blockItem()) instance.translate(0, -.09375f, 0).rotateXDegrees(90);
+			else instance.translate(item.scatter[i * 2] * .0625f * i, 0, item.scatter[i * 2 + 1] * .0625f * i);
+			instance.scale(.5f)
+					.transform(model.fixedTransform())
+					.light(light)
+					.setChanged();
+		}
+	}
+
+	public void delete() {
+		for (ItemInstance item : items.values()) item.delete();
+		items.clear();
+	}
+
+	protected class ItemInstance {
+		protected ItemStack stack;
+		protected final BakedModel bakedModel;
+		protected final FullBeltItems.ItemModel model;
+		protected final TransformedInstance[] layers;
+		protected final float[] scatter;
+		protected int frame;
+
+		protected ItemInstance(BakedModel bakedModel, int layers, int angle) {
+			this.bakedModel = bakedModel;
+			this.model = FullBeltItems.getItemModel(bakedModel);
+			this.layers = new TransformedInstance[layers];
+			for (int i = 0; i < layers; i++)
+				this.layers[i] = context.instancerProvider().instancer(InstanceTypes.TRANSFORMED, model.model()).createInstance();
+
+			// Same sequence BeltRenderer draws from, so stacked block items scatter identically
+			this.scatter = new float[layers * 2];
+			Random r = new Random(angle);
+			if (model.blockItem()) for (int i = 0; i < scatter.length; i++) scatter[i] = r.nextFloat();
+		}
+
+		protected void delete() {
+			for (TransformedInstance instance : layers) instance.delete();
+		}
+	}
+}
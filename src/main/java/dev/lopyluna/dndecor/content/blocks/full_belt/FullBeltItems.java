@@ -0,0 +1,148 @@
+package dev.lopyluna.dndecor.content.blocks.full_belt;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.simibubi.create.content.kinetics.belt.BeltBlockEntity;
+import com.simibubi.create.content.kinetics.belt.BeltHelper;
+import com.simibubi.create.content.kinetics.belt.transport.BeltInventory;
+import com.simibubi.create.content.kinetics.belt.transport.TransportedItemStack;
+import dev.engine_room.flywheel.api.model.Model;
+import com.simibubi.create.content.kinetics.belt.BeltBlock;
+import com.simibubi.create.content.kinetics.belt.BeltSlope;
+import dev.engine_room.flywheel.lib.model.baked.BakedModelBuilder;
+import dev.engine_room.flywheel.lib.transform.Affine;
+import dev.engine_room.flywheel.lib.util.ResourceReloadCache;
+import dev.lopyluna.dndecor.content.configs.DClient;
+import dev.lopyluna.dndecor.register.DnDecorConfigs;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.Vec3i;
+import net.minecraft.util.Mth;
+import net.minecraft.world.phys.Vec3;
+import net.minecraft.world.item.ItemDisplayContext;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+public class FullBeltItems {
+
+	// Visuals resolve these from parallel beginFrame calls, so both caches must be thread-safe
+	private static final ResourceReloadCache<BakedModel, ItemModel> MODELS = new ResourceReloadCache<>(ItemModel::of);
+	private static final Map<TransportedItemStack, InstanceDecision> DECISIONS = Collections.synchronizedMap(new WeakHashMap<>());
+
+	public static BakedModel getModel(BeltBlockEntity be, ItemStack stack) {
+		return Minecraft.getInstance().getItemRenderer().getModel(stack, be.getLevel(), null, 0);
+	}
+
+	public static boolean canInstance(BeltBlockEntity be) {
+		BeltInventory inventory = be.getInventory();
+		if (inventory == null) return true;
+		for (TransportedItemStack transported : inventory.getTransportedItems()) if (!canInstance(be, transported)) return false;
+		TransportedItemStack lazy = inventory.getLazyClientItem();
+		return lazy == null || canInstance(be, lazy);
+	}
+
+	public static boolean canInstance(BeltBlockEntity be, TransportedItemStack transported) {
+		InstanceDecision decision = DECISIONS.get(transported);
+		if (decision != null && decision.stack() == transported.stack) return decision.instanced();
+		boolean instanced = canInstance(be, transported.stack);
+		DECISIONS.put(transported, new InstanceDecision(transported.stack, instanced));
+		return instanced;
+	}
+
+	// Glint, billboarded and custom-rendered items stay on the immediate renderer
+	public static boolean canInstance(BeltBlockEntity be, ItemStack stack) {
+		return !stack.hasFoil() && !BeltHelper.isItemUpright(stack) && !getModel(be, stack).isCustomRenderer();
+	}
+
+	public static ItemModel getItemModel(BakedModel bakedModel) {
+		return MODELS.get(bakedModel);
+	}
+
+	public static Detail detailAt(double distanceSqr) {
+		DClient config = DnDecorConfigs.client();
+		// Each band starts no closer than the one before it, whatever order the distances were configured in
+		int simplify = config.beltItemSimplifyDistance.get();
+		int group = Math.max(config.beltItemGroupDistance.get(), simplify);
+		int cull = Math.max(config.beltItemCullDistance.get(), group);
+		if (distanceSqr > Mth.square(cull)) return Detail.CULLED;
+		if (distanceSqr > Mth.square(group)) return Detail.GROUPED;
+		if (distanceSqr > Mth.square(simplify)) return Detail.SIMPLE;
+		return Detail.FULL;
+	}
+
+	public enum Detail {
+		FULL, SIMPLE, GROUPED, CULLED
+	}
+
+	public static class Placement {
+		public float x, y, z;
+		public float sideX, sideZ;
+		public float offset, slopeAngle;
+		public boolean slopeAlongX, onSlope;
+		public int segment;
+
+		public Placement compute(BeltBlockEntity be, TransportedItemStack transported, float pt) {
+			Direction beltFacing = be.getBeltFacing();
+			Vec3i directionVec = beltFacing.getNormal();
+			BeltSlope slope = be.getBlockState().getValue(BeltBlock.SLOPE);
+			int verticality = slope == BeltSlope.DOWNWARD ? -1 : slope == BeltSlope.UPWARD ? 1 : 0;
+
+			float offset = Mth.lerp(pt, transported.prevBeltPosition, transported.beltPosition);
+			float sideOffset = Mth.lerp(pt, transported.prevSideOffset, transported.sideOffset);
+			if (be.getSpeed() == 0) {
+				offset = transported.beltPosition;
+				sideOffset = transported.sideOffset;
+			}
+
+			this.offset = offset;
+			float verticalMovement = offset < .5 ? 0 : verticality * (Math.min(offset, be.beltLength - .5f) - .5f);
+			x = .5f + directionVec.getX() * (offset - .5f);
+			y = 15 / 16f + directionVec.getY() * (offset - .5f) + verticalMovement;
+			z = .5f + directionVec.getZ() * (offset - .5f);
+
+			onSlope = slope != BeltSlope.HORIZONTAL && Mth.clamp(offset, .5f, be.beltLength - .5f) == offset;
+			boolean tiltForward = (slope == BeltSlope.DOWNWARD ^ beltFacing.getAxisDirection() == Direction.AxisDirection.POSITIVE) == (beltFacing.getAxis() == Direction.Axis.Z);
+			slopeAngle = onSlope ? tiltForward ? -45 : 45 : 0;
+			slopeAlongX = beltFacing.getAxis() == Direction.Axis.X;
+			boolean alongX = beltFacing.getClockWise().getAxis() == Direction.Axis.X;
+			if (!alongX) sideOffset *= -1;
+			sideX = alongX ? sideOffset : 0;
+			sideZ = alongX ? 0 : sideOffset;
+			segment = (int) offset;
+			return this;
+		}
+
+		public <T extends Affine<T>> T apply(T transform, int angle) {
+			transform.translate(x, y, z)
+					.nudge(angle)
+					.translate(sideX, 0, sideZ);
+			if (slopeAlongX) transform.rotateZDegrees(slopeAngle);
+			else transform.rotateXDegrees(slopeAngle);
+			if (onSlope) transform.translate(0, 1 / 8f, 0);
+			return transform;
+		}
+
+		public BlockPos.MutableBlockPos blockPos(BlockPos origin, BlockPos.MutableBlockPos pos) {
+			return pos.set(Mth.floor(origin.getX() + x), Mth.floor(origin.getY() + y), Mth.floor(origin.getZ() + z));
+		}
+
+		public double distanceSqr(BlockPos origin, Vec3 camera) {
+			return camera.distanceToSqr(origin.getX() + x, origin.getY() + y, origin.getZ() + z);
+		}
+	}
+
+	private record InstanceDecision(ItemStack stack, boolean instanced) {}
+
+	public record ItemModel(Model model, PoseStack.Pose fixedTransform, boolean blockItem) {
+		private static ItemModel of(BakedModel bakedModel) {
+			PoseStack ms = new PoseStack();
+			BakedModel renderModel = bakedModel.applyTransform(ItemDisplayContext.FIXED, ms, false);
+			ms.translate(-.5f, -.5f, -.5f);
+			return new ItemModel(BakedModelBuilder.create(renderModel).build(), ms.last(), bakedModel.isGui3d());
+		}
+	}
+}
@@ -5,30 +5,66 @@ import com.mojang.blaze3d.vertex.VertexConsumer;
 import com.simibubi.create.AllPartialModels;
 import com.simibubi.create.content.kinetics.base.KineticBlockEntityRenderer;
 import com.simibubi.create.content.kinetics.belt.*;
+import com.simibubi.create.content.kinetics.belt.transport.BeltInventory;
+import com.simibubi.create.content.kinetics.belt.transport.TransportedItemStack;
+import com.simibubi.create.content.logistics.box.PackageItem;
 import dev.engine_room.flywheel.api.visualization.VisualizationManager;
 import dev.engine_room.flywheel.lib.model.baked.PartialModel;
 import dev.engine_room.flywheel.lib.transform.TransformStack;
 import dev.lopyluna.dndecor.register.DnDecorBlocks;
 import dev.lopyluna.dndecor.register.client.DnDecorPartialModels;
 import dev.lopyluna.dndecor.register.client.DnDecorSpriteShifts;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import net.createmod.catnip.animation.AnimationTickHolder;
 import net.createmod.catnip.data.Iterate;
 import net.createmod.catnip.math.AngleHelper;
 import net.createmod.catnip.render.CachedBuffers;
 import net.createmod.catnip.render.SpriteShiftEntry;
 import net.createmod.catnip.render.SuperByteBuffer;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.LevelRenderer;
 import net.minecraft.client.renderer.MultiBufferSource;
 import net.minecraft.client.renderer.RenderType;
 import net.minecraft.client.renderer.blockentity.BlockEntityRendererProvider;
+import net.minecraft.client.renderer.entity.ItemRenderer;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.Direction.AxisDirection;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
 import net.minecraft.world.item.DyeColor;
+import net.minecraft.world.item.ItemDisplayContext;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.Vec3;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
 import java.util.function.Supplier;
 
 public class FullBeltRenderer extends BeltRenderer {
 
+	private final FullBeltItems.Placement placement = new FullBeltItems.Placement();
+	private final BlockPos.MutableBlockPos lightPos = new BlockPos.MutableBlockPos();
+
+	private static final Map<BlockState, FallbackGeometry> FALLBACK_GEOMETRY = new Reference2ObjectOpenHashMap<>();
+	private static final Map<Direction, Supplier<PoseStack>> PULLEY_TRANSFORMS = new EnumMap<>(Direction.class);
+
+	static {
+		for (Direction dir : Iterate.directions) {
+			PoseStack stack = new PoseStack();
+			var stacker = TransformStack.of(stack);
+			stacker.center();
+			if (dir.getAxis() == Direction.Axis.X) stacker.rotateYDegrees(90);
+			if (dir.getAxis() == Direction.Axis.Y) stacker.rotateXDegrees(90);
+			stacker.rotateXDegrees(90);
+			stacker.uncenter();
+			PULLEY_TRANSFORMS.put(dir, () -> stack);
+		}
+	}
+
 	public FullBeltRenderer(BlockEntityRendererProvider.Context context) {
 		super(context);
 	}
@@ -38,6 +74,111 @@ public class FullBeltRenderer extends BeltRenderer {
 			BlockState blockState = be.getBlockState();
 			if (!DnDecorBlocks.BELT.has(blockState)) return;
 
+			FallbackGeometry geometry = FALLBACK_GEOMETRY.computeIfAbsent(blockState, FallbackGeometry::of);
+			VertexConsumer vb = buffer.getBuffer(RenderType.solid());
+			float renderTick = AnimationTickHolder.getRenderTime(be.getLevel());
+
+			DyeColor color = be.color.orElse(null);
+			for (boolean bottom : Iterate.trueAndFalse) {
+				SuperByteBuffer beltBuffer = CachedBuffers.partial(geometry.partial(bottom), blockState).light(light);
+				SpriteShiftEntry spriteShift = getSpriteShiftEntry(color, geometry.diagonal(), bottom);
+
+				// UV shift
+				float speed = be.getSpeed();
+				if (speed != 0 || be.color.isPresent()) {
+					float time = renderTick * geometry.step();
+					float scrollMulti = geometry.diagonal() ? 3f / 8f : 0.5f;
+					float spriteSize = spriteShift.getTarget().getV1() - spriteShift.getTarget().getV0();
+
+					double scroll = speed * geometry.speedSign() * time / (31.5 * 16) + (bottom ? 0.5 : 0.0);
+					scroll = scroll - Math.floor(scroll);
+					scroll = scroll * spriteSize * scrollMulti;
+
+					beltBuffer.shiftUVScrolling(spriteShift, (float) scroll);
+				}
+				beltBuffer.transform(geometry.localTransforms()).renderInto(ms, vb);
+				if (geometry.diagonal()) break;
+			}
+
+			if (be.hasPulley()) {
+				Direction dir = geometry.pulleyDirection();
+				SuperByteBuffer superBuffer = CachedBuffers.partialDirectional(AllPartialModels.BELT_PULLEY, blockState, dir, PULLEY_TRANSFORMS.get(dir));
+				KineticBlockEntityRenderer.standardKineticRotationTransform(superBuffer, be, light).renderInto(ms, vb);
+			}
+		}
+		if (be.isController() && (!VisualizationManager.supportsVisualization(be.getLevel()) || !FullBeltItems.canInstance(be)))
+			renderItemsWithDetail(be, partialTicks, ms, buffer, light, overlay);
+	}
+
+	protected void renderItemsWithDetail(BeltBlockEntity be, float partialTicks, PoseStack ms, MultiBufferSource buffer, int light, int overlay) {
+		BeltInventory inventory = be.getInventory();
+		if (inventory == null || be.beltLength == 0) return;
+		Vec3 camera = Minecraft.getInstance().gameRenderer.getMainCamera().getPosition();
+
+		// Detail is picked per item, in the same order the instanced path walks them, so both group the same items
+		int lastSegment = Integer.MIN_VALUE;
+		for (TransportedItemStack transported : inventory.getTransportedItems())
+			lastSegment = renderItemWithDetail(be, transported, camera, lastSegment, partialTicks, ms, buffer, overlay);
+		TransportedItemStack lazy = inventory.getLazyClientItem();
+		if (lazy != null) renderItemWithDetail(be, lazy, camera, lastSegment, partialTicks, ms, buffer, overlay);
+	}
+
+	protected int renderItemWithDetail(BeltBlockEntity be, TransportedItemStack transported, Vec3 camera, int lastSegment, float partialTicks, PoseStack ms, MultiBufferSource buffer, int overlay) {
+		placement.compute(be, transported, partialTicks);
+		FullBeltItems.Detail detail = FullBeltItems.detailAt(placement.distanceSqr(be.getBlockPos(), camera));
+		if (detail == FullBeltItems.Detail.CULLED || detail == FullBeltItems.Detail.GROUPED && placement.segment == lastSegment) return lastSegment;
+		renderItem(be, transported, detail == FullBeltItems.Detail.FULL, ms, buffer, overlay);
+		return placement.segment;
+	}
+
+	// Mirrors BeltRenderer's per-item drawing; simplified detail only drops the extra stack layers
+	protected void renderItem(BeltBlockEntity be, TransportedItemStack transported, boolean allLayers, PoseStack ms, MultiBufferSource buffer, int overlay) {
+		Level level = be.getLevel();
+		if (level == null) return;
+		Minecraft mc = Minecraft.getInstance();
+		ItemRenderer itemRenderer = mc.getItemRenderer();
+		BakedModel bakedModel = FullBeltItems.getModel(be, transported.stack);
+		boolean blockItem = bakedModel.isGui3d();
+		boolean upright = BeltHelper.isItemUpright(transported.stack);
+		boolean box = PackageItem.isPackage(transported.stack);
+		int layers = allLayers ? (int) (Mth.log2(transported.stack.getCount())) / 2 + 1 : 1;
+		int stackLight = LevelRenderer.getLightColor(level, placement.blockPos(be.getBlockPos(), lightPos));
+		Random r = new Random(transported.angle);
+
+		ms.pushPose();
+		var msr = TransformStack.of(ms);
+		placement.apply(msr, transported.angle);
+		if (upright) {
+			Entity cameraEntity = mc.cameraEntity;
+			if (cameraEntity != null) {
+				Vec3 diff = BeltHelper.getVectorForOffset(be, placement.offset).subtract(cameraEntity.position());
+				msr.rotateY((float) (Mth.atan2(diff.x, diff.z) + Math.PI));
+			}
+			msr.translate(0, 3 / 32f, 1 / 16f);
+		}
+
+		for (int i = 0; i < layers; i++) {
+			ms.pushPose();
+			msr.rotateYDegrees(transported.angle);
+			if (!blockItem && !upright) msr.translate(0, -.09375f, 0).rotateXDegrees(90);
+			if (blockItem && !box) msr.translate(r.nextFloat() * .0625f * i, 0, r.nextFloat() * .0625f * i);
+			if (box) msr.translate(0, 4 / 16f, 0).scale(1.5f);
+			else msr.scale(.5f);
+			itemRenderer.render(transported.stack, ItemDisplayContext.FIXED, false, ms, buffer, stackLight, overlay, bakedModel);
+			ms.popPose();
+
+			if (upright) {
+				msr.translate(0, 0, -1 / 16f);
+				continue;
+			}
+			if (!blockItem) msr.rotateYDegrees(10);
+			msr.translate(0, blockItem ? 1 / 64f : 1 / 16f, 0);
+		}
+		ms.popPose();
+	}
+
+	protected record FallbackGeometry(PoseStack localTransforms, PartialModel[] partials, boolean diagonal, float speedSign, int step, Direction pulleyDirection) {
+		private static FallbackGeometry of(BlockState blockState) {
 			BeltSlope beltSlope = blockState.getValue(BeltBlock.SLOPE);
 			BeltPart part = blockState.getValue(BeltBlock.PART);
 			Direction facing = blockState.getValue(BeltBlock.HORIZONTAL_FACING);
@@ -52,11 +193,8 @@ public class FullBeltRenderer extends BeltRenderer {
 			boolean alongX = facing.getAxis() == Direction.Axis.X;
 
 			PoseStack localTransforms = new PoseStack();
-			var msr = TransformStack.of(localTransforms);
-			VertexConsumer vb = buffer.getBuffer(RenderType.solid());
-			float renderTick = AnimationTickHolder.getRenderTime(be.getLevel());
-
-			msr.center().rotateYDegrees(AngleHelper.horizontalAngle(facing) + (upward ? 180 : 0) + (sideways ? 270 : 0))
+			TransformStack.of(localTransforms)
+					.center().rotateYDegrees(AngleHelper.horizontalAngle(facing) + (upward ? 180 : 0) + (sideways ? 270 : 0))
 					.rotateZDegrees(sideways ? 90 : 0)
 					.rotateXDegrees(!diagonal && beltSlope != BeltSlope.HORIZONTAL ? 90 : 0)
 					.uncenter();
@@ -67,50 +205,15 @@ public class FullBeltRenderer extends BeltRenderer {
 				end = b;
 			}
 
-			DyeColor color = be.color.orElse(null);
-			for (boolean bottom : Iterate.trueAndFalse) {
-				PartialModel beltPartial = getBeltPartial(diagonal, start, end, bottom);
-				SuperByteBuffer beltBuffer = CachedBuffers.partial(beltPartial, blockState).light(light);
-				SpriteShiftEntry spriteShift = getSpriteShiftEntry(color, diagonal, bottom);
-
-				// UV shift
-				float speed = be.getSpeed();
-				if (speed != 0 || be.color.isPresent()) {
-					float time = renderTick * axisDirection.getStep();
-					if (diagonal && (downward ^ alongX) || !sideways && !diagonal && alongX || sideways && axisDirection == AxisDirection.NEGATIVE) speed = -speed;
-
-					float scrollMulti = diagonal ? 3f / 8f : 0.5f;
-					float spriteSize = spriteShift.getTarget().getV1() - spriteShift.getTarget().getV0();
-
-					double scroll = speed * time / (31.5 * 16) + (bottom ? 0.5 : 0.0);
-					scroll = scroll - Math.floor(scroll);
-					scroll = scroll * spriteSize * scrollMulti;
-
-					beltBuffer.shiftUVScrolling(spriteShift, (float) scroll);
-				}
-				beltBuffer.transform(localTransforms).renderInto(ms, vb);
-				if (diagonal) break;
-			}
+			PartialModel[] partials = { getBeltPartial(diagonal, start, end, true), getBeltPartial(diagonal, start, end, false) };
+			boolean reversed = diagonal && (downward ^ alongX) || !sideways && !diagonal && alongX || sideways && axisDirection == AxisDirection.NEGATIVE;
+			Direction pulleyDirection = sideways ? Direction.UP : facing.getClockWise();
+			return new FallbackGeometry(localTransforms, partials, diagonal, reversed ? -1 : 1, axisDirection.getStep(), pulleyDirection);
+		}
 
-			if (be.hasPulley()) {
-				Direction dir = sideways ? Direction.UP : blockState.getValue(BeltBlock.HORIZONTAL_FACING).getClockWise();
-
-				Supplier<PoseStack> matrixStackSupplier = () -> {
-					PoseStack stack = new PoseStack();
-					var stacker = TransformStack.of(stack);
-					stacker.center();
-					if (dir.getAxis() == Direction.Axis.X) stacker.rotateYDegrees(90);
-					if (dir.getAxis() == Direction.Axis.Y) stacker.rotateXDegrees(90);
-					stacker.rotateXDegrees(90);
-					stacker.uncenter();
-					return stack;
-				};
-
-				SuperByteBuffer superBuffer = CachedBuffers.partialDirectional(AllPartialModels.BELT_PULLEY, blockState, dir, matrixStackSupplier);
-				KineticBlockEntityRenderer.standardKineticRotationTransform(superBuffer, be, light).renderInto(ms, vb);
-			}
+		private PartialModel partial(boolean bottom) {
+			return partials[bottom ? 0 : 1];
 		}
-		renderItems(be, partialTicks, ms, buffer, light, overlay);
 	}
 
 	public static SpriteShiftEntry getSpriteShiftEntry(DyeColor color, boolean diagonal, boolean bottom) {
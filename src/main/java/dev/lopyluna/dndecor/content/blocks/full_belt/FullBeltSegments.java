@@ -0,0 +1,23 @@
+package dev.lopyluna.dndecor.content.blocks.full_belt;
+
+import com.simibubi.create.content.kinetics.belt.BeltBlock;
+import com.simibubi.create.content.kinetics.belt.BeltBlockEntity;
+import com.simibubi.create.content.kinetics.belt.BeltHelper;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+
+import java.util.List;
+
+public class FullBeltSegments {
+
+    // Ordered segment block entities of a controller belt, index 0 first. Entries may be null if a segment is missing.
+    // Walked fresh on every call; callers keep the array for the rest of one interaction instead of walking again
+    public static BeltBlockEntity[] of(BeltBlockEntity controllerBE) {
+        Level level = controllerBE.getLevel();
+        if (level == null) return new BeltBlockEntity[0];
+        List<BlockPos> chain = BeltBlock.getBeltChain(level, controllerBE.getBlockPos());
+        BeltBlockEntity[] segments = new BeltBlockEntity[chain.size()];
+        for (int i = 0; i < segments.length; i++) segments[i] = BeltHelper.getSegmentBE(level, chain.get(i));
+        return segments;
+    }
+}
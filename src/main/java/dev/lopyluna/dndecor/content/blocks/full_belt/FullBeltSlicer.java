@@ -47,15 +47,13 @@ public class FullBeltSlicer {
 
         BlockPos beltVector = BlockPos.containing(BeltHelper.getBeltVector(state));
         BeltPart part = state.getValue(BeltBlock.PART);
-        List<BlockPos> beltChain = BeltBlock.getBeltChain(world, controllerBE.getBlockPos());
         boolean creative = player.isCreative();
 
         // Shorten from End
         if (hoveringEnd(state, hit)) {
             if (world.isClientSide) return ItemInteractionResult.SUCCESS;
 
-            for (BlockPos blockPos : beltChain) {
-                BeltBlockEntity belt = BeltHelper.getSegmentBE(world, blockPos);
+            for (BeltBlockEntity belt : FullBeltSegments.of(controllerBE)) {
                 if (belt == null) continue;
                 belt.detachKinetics();
                 belt.invalidateItemHandler();
@@ -150,8 +148,7 @@ public class FullBeltSlicer {
             }
         }
         if (!world.isClientSide) {
-            for (BlockPos blockPos : beltChain) {
-                BeltBlockEntity belt = BeltHelper.getSegmentBE(world, blockPos);
+            for (BeltBlockEntity belt : FullBeltSegments.of(controllerBE)) {
                 if (belt == null) continue;
                 belt.detachKinetics();
                 belt.invalidateItemHandler();
@@ -192,13 +189,13 @@ public class FullBeltSlicer {
         BlockPos beltVector = BlockPos.containing(BeltHelper.getBeltVector(state));
         BeltPart part = state.getValue(BeltBlock.PART);
         Direction facing = state.getValue(BeltBlock.HORIZONTAL_FACING);
-        List<BlockPos> beltChain = BeltBlock.getBeltChain(world, controllerBE.getBlockPos());
         boolean creative = player.isCreative();
 
         if (!hoveringEnd(state, hit)) return ItemInteractionResult.PASS_TO_DEFAULT_BLOCK_INTERACTION;
 
         BlockPos next = part == BeltPart.START ? pos.subtract(beltVector) : pos.offset(beltVector);
         BeltBlockEntity mergedController = null;
+        BeltBlockEntity[] mergedSegments = null;
         int mergedBeltLength = 0;
 
         // Merge Belts / Extend at End
@@ -216,15 +213,17 @@ public class FullBeltSlicer {
             if (!world.isClientSide) {
                 boolean flipBelt = facing != nextState.getValue(BeltBlock.HORIZONTAL_FACING);
                 Optional<DyeColor> color = controllerBE.color;
-                for (BlockPos blockPos : BeltBlock.getBeltChain(world, mergedController.getBlockPos())) {
-                    BeltBlockEntity belt = BeltHelper.getSegmentBE(world, blockPos);
+                mergedSegments = FullBeltSegments.of(mergedController);
+                for (BeltBlockEntity belt : mergedSegments) {
                     if (belt == null) continue;
                     belt.detachKinetics();
                     belt.invalidateItemHandler();
                     belt.beltLength = 0;
                     belt.color = color;
-                    if (flipBelt)
+                    if (flipBelt) {
+                        BlockPos blockPos = belt.getBlockPos();
                         world.setBlock(blockPos, flipBelt(world.getBlockState(blockPos)), Block.UPDATE_ALL | Block.UPDATE_MOVE_BY_PISTON);
+                    }
                 }
 
                 // Reverse items
@@ -235,14 +234,13 @@ public class FullBeltSlicer {
                         transportedItemStack.prevBeltPosition = mergedBeltLength - transportedItemStack.prevBeltPosition;
                     }
                 }
-
-                beltChain = BeltBlock.getBeltChain(world, mergedController.getBlockPos());
             }
         }
 
         if (!world.isClientSide) {
-            for (BlockPos blockPos : beltChain) {
-                BeltBlockEntity belt = BeltHelper.getSegmentBE(world, blockPos);
+            BeltBlockEntity[] segments = FullBeltSegments.of(controllerBE);
+            // A merge only detaches the other belt here, matching Create's slicer
+            for (BeltBlockEntity belt : mergedSegments != null ? mergedSegments : segments) {
                 if (belt == null) continue;
                 belt.detachKinetics();
                 belt.invalidateItemHandler();
@@ -281,11 +279,8 @@ public class FullBeltSlicer {
                     player.getInventory().placeItemBackInInventory(DnDecorItems.BELT_CONNECTOR.asStack());
                 }
 
-                for (BlockPos blockPos : BeltBlock.getBeltChain(world, controllerBE.getBlockPos())) {
-                    BeltBlockEntity belt = BeltHelper.getSegmentBE(world, blockPos);
-                    if (belt == null) continue;
-                    belt.invalidateItemHandler();
-                }
+                for (BeltBlockEntity belt : segments) if (belt != null) belt.invalidateItemHandler();
+                for (BeltBlockEntity belt : mergedSegments) if (belt != null) belt.invalidateItemHandler();
 
                 // Transfer items to other controller
                 BlockPos search = controllerBE.getBlockPos();
@@ -12,10 +12,12 @@ import com.simibubi.create.foundation.render.AllInstanceTypes;
 import dev.engine_room.flywheel.api.instance.Instance;
 import dev.engine_room.flywheel.api.instance.Instancer;
 import dev.engine_room.flywheel.api.model.Model;
+import dev.engine_room.flywheel.api.visual.DynamicVisual;
 import dev.engine_room.flywheel.api.visualization.VisualizationContext;
 import dev.engine_room.flywheel.lib.model.Models;
 import dev.engine_room.flywheel.lib.model.baked.PartialModel;
 import dev.engine_room.flywheel.lib.transform.TransformStack;
+import dev.engine_room.flywheel.lib.visual.SimpleDynamicVisual;
 import net.createmod.catnip.data.Iterate;
 import net.createmod.catnip.render.SpriteShiftEntry;
 import net.minecraft.core.Direction;
@@ -23,22 +25,36 @@ import net.minecraft.util.Mth;
 import net.minecraft.world.item.DyeColor;
 import org.jetbrains.annotations.Nullable;
 import org.joml.Quaternionf;
+import org.joml.Quaternionfc;
 
 import java.util.function.Consumer;
 
-public class FullBeltVisual extends KineticBlockEntityVisual<BeltBlockEntity> {
+public class FullBeltVisual extends KineticBlockEntityVisual<BeltBlockEntity> implements SimpleDynamicVisual {
 	public static final float MAGIC_SCROLL_MULTIPLIER = 1f / (31.5f * 16f);
 	public static final float SCROLL_FACTOR_DIAGONAL = 3f / 8f;
 	public static final float SCROLL_FACTOR_OTHERWISE = 0.5f;
 	public static final float SCROLL_OFFSET_BOTTOM = 0.5f;
 	public static final float SCROLL_OFFSET_OTHERWISE = 0f;
 
+	private static final SegmentTransform[] TRANSFORMS = new SegmentTransform[BeltSlope.values().length * 4];
+
+	static {
+		for (BeltSlope slope : BeltSlope.values())
+			for (Direction facing : Iterate.horizontalDirections)
+				TRANSFORMS[transformIndex(slope, facing)] = SegmentTransform.of(slope, facing);
+	}
+
+	protected final SegmentTransform transform;
 	protected final ScrollInstance[] belts;
 	@Nullable
     protected final RotatingInstance pulley;
+	// Only held while this segment is the controller; the other segments carry no item state
+	@Nullable
+	protected FullBeltItemInstances items;
 
     public FullBeltVisual(VisualizationContext context, BeltBlockEntity blockEntity, float partialTick) {
         super(context, blockEntity, partialTick);
+		transform = TRANSFORMS[transformIndex(blockState.getValue(BeltBlock.SLOPE), blockState.getValue(BeltBlock.HORIZONTAL_FACING))];
 
 		BeltPart part = blockState.getValue(BeltBlock.PART);
 		boolean start = part == BeltPart.START;
@@ -86,6 +102,19 @@ public class FullBeltVisual extends KineticBlockEntityVisual<BeltBlockEntity> {
         if (pulley != null) pulley.setup(blockEntity).setChanged();
     }
 
+	@Override
+	public void beginFrame(DynamicVisual.Context ctx) {
+		// The dynamic hook is fixed when the visual is created, but a segment can gain or lose the controller role later.
+		// Field checks only, so every non-controller segment returns here without touching the belt inventory
+		if (!blockEntity.isController() || blockEntity.beltLength == 0) {
+			if (items != null) items.delete();
+			items = null;
+			return;
+		}
+		if (items == null) items = new FullBeltItemInstances(visualizationContext, blockEntity, getVisualPosition());
+		items.beginFrame(ctx.partialTick(), ctx.camera().getPosition());
+	}
+
     @Override
     public void updateLight(float partialTick) {
         relight(belts);
@@ -96,6 +125,7 @@ public class FullBeltVisual extends KineticBlockEntityVisual<BeltBlockEntity> {
     protected void _delete() {
 		for (var key : belts) key.delete();
         if (pulley != null) pulley.delete();
+		if (items != null) items.delete();
     }
 
     private Model getPulleyModel() {
@@ -118,41 +148,47 @@ public class FullBeltVisual extends KineticBlockEntityVisual<BeltBlockEntity> {
     }
 
     private ScrollInstance setup(ScrollInstance key, boolean bottom, SpriteShiftEntry spriteShift) {
-		BeltSlope beltSlope = blockState.getValue(BeltBlock.SLOPE);
-		Direction facing = blockState.getValue(BeltBlock.HORIZONTAL_FACING);
-		boolean diagonal = beltSlope.isDiagonal();
-		boolean sideways = beltSlope == BeltSlope.SIDEWAYS;
-		boolean vertical = beltSlope == BeltSlope.VERTICAL;
-		boolean upward = beltSlope == BeltSlope.UPWARD;
-		boolean alongX = facing.getAxis() == Direction.Axis.X;
-		boolean alongZ = facing.getAxis() == Direction.Axis.Z;
-        boolean downward = beltSlope == BeltSlope.DOWNWARD;
-
-		float speed = blockEntity.getSpeed();
-		if (((facing.getAxisDirection() == Direction.AxisDirection.NEGATIVE) ^ upward) ^
-			((alongX && !diagonal) || (alongZ && diagonal))) {
-			speed = -speed;
-		}
-		if (sideways && (facing == Direction.SOUTH || facing == Direction.WEST) || (vertical && facing == Direction.EAST))
-			speed = -speed;
-
-
-        float rotX = (!diagonal && beltSlope != BeltSlope.HORIZONTAL ? 90 : 0) + (downward ? 180 : 0) + (sideways ? 90 : 0) + (vertical && alongZ ? 180 : 0);
-        float rotY = facing.toYRot() + ((diagonal ^ alongX) && !downward ? 180 : 0) + (sideways && alongZ ? 180 : 0) + (vertical && alongX ? 90 : 0);
-        float rotZ = (sideways ? 90 : 0) + (vertical && alongX ? 90 : 0);
-
-        Quaternionf q = new Quaternionf().rotationXYZ(rotX * Mth.DEG_TO_RAD, rotY * Mth.DEG_TO_RAD, rotZ * Mth.DEG_TO_RAD);
-
-		key.setSpriteShift(spriteShift, 1f, (diagonal ? SCROLL_FACTOR_DIAGONAL : SCROLL_FACTOR_OTHERWISE))
+		key.setSpriteShift(spriteShift, 1f, transform.scrollFactor())
 				.position(getVisualPosition())
-				.rotation(q)
-				.speed(0, speed * MAGIC_SCROLL_MULTIPLIER)
+				.rotation(transform.rotation())
+				.speed(0, blockEntity.getSpeed() * transform.speedSign() * MAGIC_SCROLL_MULTIPLIER)
 				.offset(0, bottom ? SCROLL_OFFSET_BOTTOM : SCROLL_OFFSET_OTHERWISE)
 				.colorRgb(RotatingInstance.colorFromBE(blockEntity))
 				.setChanged();
         return key;
     }
 
+	private static int transformIndex(BeltSlope slope, Direction facing) {
+		return slope.ordinal() * 4 + facing.get2DDataValue();
+	}
+
+	protected record SegmentTransform(Quaternionfc rotation, float speedSign, float scrollFactor) {
+		private static SegmentTransform of(BeltSlope beltSlope, Direction facing) {
+			boolean diagonal = beltSlope.isDiagonal();
+			boolean sideways = beltSlope == BeltSlope.SIDEWAYS;
+			boolean vertical = beltSlope == BeltSlope.VERTICAL;
+			boolean upward = beltSlope == BeltSlope.UPWARD;
+			boolean alongX = facing.getAxis() == Direction.Axis.X;
+			boolean alongZ = facing.getAxis() == Direction.Axis.Z;
+			boolean downward = beltSlope == BeltSlope.DOWNWARD;
+
+			float speedSign = 1;
+			if (((facing.getAxisDirection() == Direction.AxisDirection.NEGATIVE) ^ upward) ^
+				((alongX && !diagonal) || (alongZ && diagonal))) {
+				speedSign = -speedSign;
+			}
+			if (sideways && (facing == Direction.SOUTH || facing == Direction.WEST) || (vertical && facing == Direction.EAST))
+				speedSign = -speedSign;
+
+			float rotX = (!diagonal && beltSlope != BeltSlope.HORIZONTAL ? 90 : 0) + (downward ? 180 : 0) + (sideways ? 90 : 0) + (vertical && alongZ ? 180 : 0);
+			float rotY = facing.toYRot() + ((diagonal ^ alongX) && !downward ? 180 : 0) + (sideways && alongZ ? 180 : 0) + (vertical && alongX ? 90 : 0);
+			float rotZ = (sideways ? 90 : 0) + (vertical && alongX ? 90 : 0);
+
+			Quaternionf rotation = new Quaternionf().rotationXYZ(rotX * Mth.DEG_TO_RAD, rotY * Mth.DEG_TO_RAD, rotZ * Mth.DEG_TO_RAD);
+			return new SegmentTransform(rotation, speedSign, diagonal ? SCROLL_FACTOR_DIAGONAL : SCROLL_FACTOR_OTHERWISE);
+		}
+	}
+
 	@Override
 	public void collectCrumblingInstances(Consumer<Instance> consumer) {
 		if (pulley != null) consumer.accept(pulley);
@@ -40,8 +40,6 @@ import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
-import java.util.ArrayList;
-import java.util.List;
 
 public class ColoredStorageContainerBlock extends Block implements IWrenchable, IBE<ColoredStorageContainerBlockEntity> {
 
@@ -72,30 +70,11 @@ public class ColoredStorageContainerBlock extends Block implements IWrenchable,
 
         ColoredStorageContainerBlockEntity controllerBE = be.getControllerBE();
         if (controllerBE == null) return false;
+        if (controllerBE.getBlockState().getValue(COLOR) == pDyeColor) return false;
 
-        BlockState blockState = pLevel.getBlockState(controllerBE.getBlockPos());
-        BlockState newState = blockState.setValue(COLOR, pDyeColor);
-
-        if (blockState.getValue(COLOR) != newState.getValue(COLOR)) {
-            List<BlockPos> positions = new ArrayList<>();
-            if (be.isController()) {
-                int radius = be.radius;
-                int length = be.length;
-                for (int y = 0; y < radius; y++) for (int z = 0; z < (controllerBE.axis == Direction.Axis.X ? radius : length); z++) for (int x = 0; x < (controllerBE.axis == Direction.Axis.Z ? radius : length); x++) {
-                    BlockPos pos = controllerBE.getBlockPos().offset(x, y, z);
-                    BlockState stateAtPos = pLevel.getBlockState(pos);
-                    if (pLevel.getBlockEntity(pos) instanceof ColoredStorageContainerBlockEntity be2 && be.getController() != be2.getController()) continue;
-                    if (stateAtPos.isAir()) continue;
-                    if (!stateAtPos.hasProperty(COLOR)) continue;
-                    positions.add(pos);
-                }
-            }
-
-            pLevel.setBlockAndUpdate(controllerBE.getBlockPos(), controllerBE.getBlockState().setValue(COLOR, pDyeColor));
-            for (BlockPos pos : positions) pLevel.setBlockAndUpdate(pos, pLevel.getBlockState(pos).setValue(COLOR, pDyeColor));
-            if (!pPlayer.isCreative()) pDyeStack.shrink(1);
-            return true;
-        } else return false;
+        controllerBE.repaint(pDyeColor);
+        if (!pPlayer.isCreative()) pDyeStack.shrink(1);
+        return true;
     }
 
     @Override
@@ -139,8 +118,10 @@ public class ColoredStorageContainerBlock extends Block implements IWrenchable,
             BlockEntity be = context.getLevel()
                     .getBlockEntity(context.getClickedPos());
             if (be instanceof ColoredStorageContainerBlockEntity vault) {
-                ConnectivityHandler.splitMulti(vault);
-                vault.removeController(true);
+                ColoredStorageContainerBlockEntity.restructure(() -> {
+                    ConnectivityHandler.splitMulti(vault);
+                    vault.removeController(true);
+                });
             }
             state = state.setValue(LARGE, false);
         }
@@ -155,7 +136,7 @@ public class ColoredStorageContainerBlock extends Block implements IWrenchable,
                 return;
             ItemHelper.dropContents(world, pos, vaultBE.inventory);
             world.removeBlockEntity(pos);
-            ConnectivityHandler.splitMulti(vaultBE);
+            ColoredStorageContainerBlockEntity.restructure(() -> ConnectivityHandler.splitMulti(vaultBE));
         }
     }
 
@@ -207,7 +188,10 @@ public class ColoredStorageContainerBlock extends Block implements IWrenchable,
 
     @Override
     public int getAnalogOutputSignal(@NotNull BlockState pState, @NotNull Level pLevel, @NotNull BlockPos pPos) {
-        return ItemHelper.calcRedstoneFromBlockEntity(this, pLevel, pPos);
+        ColoredStorageContainerBlockEntity be = getBlockEntity(pLevel, pPos);
+        if (be == null) return 0;
+        ColoredStorageContainerItemHandler handler = be.getItemHandler();
+        return handler == null ? 0 : handler.getComparatorSignal();
     }
 
     @Override
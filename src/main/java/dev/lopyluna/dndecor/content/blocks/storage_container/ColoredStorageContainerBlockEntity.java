@@ -6,9 +6,11 @@ import com.simibubi.create.foundation.ICapabilityProvider;
 import com.simibubi.create.foundation.blockEntity.IMultiBlockEntityContainer;
 import com.simibubi.create.foundation.blockEntity.SmartBlockEntity;
 import com.simibubi.create.foundation.blockEntity.behaviour.BlockEntityBehaviour;
-import com.simibubi.create.foundation.blockEntity.behaviour.inventory.VersionedInventoryWrapper;
 import com.simibubi.create.infrastructure.config.AllConfigs;
 import dev.lopyluna.dndecor.register.DnDecorBETypes;
+import dev.lopyluna.dndecor.register.DnDecorConfigs;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
 import net.createmod.catnip.nbt.NBTHelper;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
@@ -17,6 +19,8 @@ import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.NbtUtils;
 import net.minecraft.world.item.DyeColor;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.BlockEntityType;
@@ -25,45 +29,55 @@ import net.minecraft.world.level.levelgen.structure.BoundingBox;
 import net.neoforged.neoforge.capabilities.Capabilities;
 import net.neoforged.neoforge.capabilities.RegisterCapabilitiesEvent;
 import net.neoforged.neoforge.items.IItemHandler;
-import net.neoforged.neoforge.items.IItemHandlerModifiable;
 import net.neoforged.neoforge.items.ItemStackHandler;
-import net.neoforged.neoforge.items.wrapper.CombinedInvWrapper;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 import static dev.lopyluna.dndecor.content.blocks.storage_container.ColoredStorageContainerBlock.COLOR;
 
 @SuppressWarnings("unchecked")
 public class ColoredStorageContainerBlockEntity extends SmartBlockEntity implements IMultiBlockEntityContainer.Inventory {
 
+    private static final ReferenceLinkedOpenHashSet<ColoredStorageContainerBlockEntity> PENDING_COMPARATOR_UPDATES = new ReferenceLinkedOpenHashSet<>();
+    private static long coalescedComparatorUpdates;
+    private static final ReferenceLinkedOpenHashSet<ColoredStorageContainerBlockEntity> DEFERRED_STRUCTURE_SYNC = new ReferenceLinkedOpenHashSet<>();
+    private static int restructureDepth;
+    private static final ReferenceLinkedOpenHashSet<ColoredStorageContainerBlockEntity> PENDING_REPAIRS = new ReferenceLinkedOpenHashSet<>();
+    private static final DyeColor[] COLORS = DyeColor.values();
+
     protected ICapabilityProvider<IItemHandler> itemCapability;
     protected InventoryIdentifier invId;
 
-    protected ItemStackHandler inventory;
+    protected ColoredStorageContainerInventory inventory;
+    protected ColoredStorageContainerItemHandler itemHandler;
     protected BlockPos controller;
     protected BlockPos lastKnownPos;
     protected boolean updateConnectivity;
     protected int radius;
     protected int length;
-    protected Direction.Axis axis;
-    protected int checkTickRate;
-    protected int checkTickCounter;
+    protected boolean comparatorsDirty;
+    protected int structureGeneration;
+    protected WeakReference<ColoredStorageContainerBlockEntity> cachedController;
+    protected int cachedControllerGeneration;
+
+    protected final int[] colorCounts = new int[COLORS.length];
+    protected boolean colorCountsValid;
+    protected int colorCountsVersion;
+    protected ColoredStorageContainerBlockEntity countedIn;
+    protected DyeColor countedColor;
+    protected int countedVersion;
 
     public ColoredStorageContainerBlockEntity(BlockEntityType<?> type, BlockPos pos, BlockState state) {
         super(type, pos, state);
 
-        setCheckTickRate(4);
-
-        inventory = new ItemStackHandler(AllConfigs.server().logistics.vaultCapacity.get()) {
-            @Override
-            protected void onContentsChanged(int slot) {
-                super.onContentsChanged(slot);
-                updateComparators();
-            }
-        };
+        inventory = new ColoredStorageContainerInventory(this, AllConfigs.server().logistics.vaultCapacity.get());
 
         radius = 1;
         length = 1;
@@ -82,6 +96,11 @@ public class ColoredStorageContainerBlockEntity extends SmartBlockEntity impleme
     public void initialize() {
         super.initialize();
         repairContainer();
+        trackColor();
+
+        ColoredStorageContainerBlockEntity controllerBE = getControllerBE();
+        if (controllerBE != null && controllerBE.itemHandler != null && !controllerBE.itemHandler.contains(inventory))
+            controllerBE.invalidateItemHandler();
     }
 
     @Override
@@ -91,55 +110,143 @@ public class ColoredStorageContainerBlockEntity extends SmartBlockEntity impleme
         updateConnectivity = false;
         if (Objects.requireNonNull(getLevel()).isClientSide()) return;
         if (!isController()) return;
-        ConnectivityHandler.formMulti(this);
+        restructure(() -> ConnectivityHandler.formMulti(this));
         updateColors();
     }
 
-    protected void updateComparators() {
+    public static void restructure(Runnable action) {
+        restructureDepth++;
+        try {
+            action.run();
+        } finally {
+            if (--restructureDepth == 0) flushStructureSync();
+        }
+    }
+
+    private static void flushStructureSync() {
+        while (!DEFERRED_STRUCTURE_SYNC.isEmpty()) {
+            ColoredStorageContainerBlockEntity be = DEFERRED_STRUCTURE_SYNC.removeFirst();
+            if (be.isRemoved() || !be.hasLevel()) continue;
+            be.invalidateCapabilities();
+            be.setChanged();
+            be.sendData();
+        }
+    }
+
+    protected boolean deferStructureSync() {
+        if (restructureDepth == 0 || !hasLevel() || Objects.requireNonNull(getLevel()).isClientSide()) return false;
+        DEFERRED_STRUCTURE_SYNC.add(this);
+        return true;
+    }
+
+    protected void syncStructure() {
+        if (deferStructureSync()) return;
+        setChanged();
+        sendData();
+    }
+
+    protected void onInventoryChanged(int slot) {
+        if (hasLevel()) markComparatorsDirty();
+    }
+
+    protected void onInventoryReplaced() {
+        if (!hasLevel()) return;
+        ColoredStorageContainerBlockEntity controllerBE = getControllerBE();
+        if (controllerBE != null) controllerBE.invalidateItemHandler();
+    }
+
+    protected void invalidateItemHandler() {
+        if (itemHandler != null) itemHandler.release();
+        itemHandler = null;
+        itemCapability = null;
+        if (!deferStructureSync()) invalidateCapabilities();
+    }
+
+    protected void markComparatorsDirty() {
         ColoredStorageContainerBlockEntity controllerBE = getControllerBE();
         if (controllerBE == null) return;
 
-        Objects.requireNonNull(getLevel()).blockEntityChanged(controllerBE.worldPosition);
+        Level level = Objects.requireNonNull(getLevel());
+        if (level.isClientSide() || !DnDecorConfigs.server().logistics.coalesceComparatorUpdates.get()) {
+            updateComparators();
+            return;
+        }
 
-        BlockPos pos = controllerBE.getBlockPos();
-        for (int y = 0; y < controllerBE.radius; y++) {
-            for (int z = 0; z < (controllerBE.axis == Direction.Axis.X ? controllerBE.radius : controllerBE.length); z++) {
-                for (int x = 0; x < (controllerBE.axis == Direction.Axis.Z ? controllerBE.radius : controllerBE.length); x++) {
-                    getLevel().updateNeighbourForOutputSignal(pos.offset(x, y, z), getBlockState().getBlock());
-                }
-            }
+        level.blockEntityChanged(controllerBE.worldPosition);
+        if (controllerBE.comparatorsDirty) {
+            coalescedComparatorUpdates++;
+            return;
         }
+        controllerBE.comparatorsDirty = true;
+        PENDING_COMPARATOR_UPDATES.add(controllerBE);
     }
 
-    public void updateCheck() {
-        if (getControllerBE() == null)
-            return;
-        if (getControllerBE().getBlockState().getValue(COLOR) != getBlockState().getValue(COLOR)) {
-            updateColors();
+    public static void flushComparatorUpdates() {
+        // Containers re-queued by a neighbour reacting to the update are left for the next tick
+        for (int pending = PENDING_COMPARATOR_UPDATES.size(); pending > 0 && !PENDING_COMPARATOR_UPDATES.isEmpty(); pending--) {
+            ColoredStorageContainerBlockEntity controllerBE = PENDING_COMPARATOR_UPDATES.removeFirst();
+            controllerBE.comparatorsDirty = false;
+            if (controllerBE.isRemoved() || !controllerBE.hasLevel()) continue;
+            controllerBE.updateComparators();
         }
     }
+
+    public static long getCoalescedComparatorUpdates() {
+        return coalescedComparatorUpdates;
+    }
+
+    protected void updateComparators() {
+        ColoredStorageContainerBlockEntity controllerBE = getControllerBE();
+        if (controllerBE == null) return;
+
+        Level level = Objects.requireNonNull(getLevel());
+        level.blockEntityChanged(controllerBE.worldPosition);
+
+        Block block = getBlockState().getBlock();
+        controllerBE.forEachPart(pos -> level.updateNeighbourForOutputSignal(pos, block));
+    }
+
+    protected void forEachPart(Consumer<BlockPos> action) {
+        boolean alongZ = ColoredStorageContainerBlock.getVaultBlockAxis(getBlockState()) == Direction.Axis.Z;
+        for (int yOffset = 0; yOffset < length; yOffset++) for (int xOffset = 0; xOffset < radius; xOffset++) for (int zOffset = 0; zOffset < radius; zOffset++)
+            action.accept(alongZ ? worldPosition.offset(xOffset, zOffset, yOffset) : worldPosition.offset(yOffset, xOffset, zOffset));
+    }
+
     public void repairContainer() {
-        if (getControllerBE() == null)
+        Level level = Objects.requireNonNull(getLevel());
+        if (level.isClientSide() || isRemoved()) return;
+        if (!isController()) {
+            PENDING_REPAIRS.add(this);
             return;
-        if (getControllerBE().getBlockState().getValue(COLOR) != getBlockState().getValue(COLOR)) {
-            Objects.requireNonNull(getLevel()).setBlockAndUpdate(getBlockPos(), getBlockState().setValue(COLOR, getControllerBE().getBlockState().getValue(COLOR)));
         }
+        // Parts that loaded before their controller were skipped by the flush; pick them up now
+        forEachPart(pos -> {
+            if (pos.equals(worldPosition) || !level.isLoaded(pos)) return;
+            if (level.getBlockEntity(pos) instanceof ColoredStorageContainerBlockEntity be && worldPosition.equals(be.controller)) PENDING_REPAIRS.add(be);
+        });
     }
 
-    @Override
-    public void lazyTick() {
-        super.lazyTick();
-        if (checkTickCounter <= 0) {
-            checkTickCounter = checkTickRate;
-            repairContainer();
-        } else {
-            updateCheck();
+    public static void flushRepairs() {
+        if (PENDING_REPAIRS.isEmpty()) return;
+        Map<ColoredStorageContainerBlockEntity, List<ColoredStorageContainerBlockEntity>> byController = new Reference2ObjectLinkedOpenHashMap<>();
+        for (ColoredStorageContainerBlockEntity be : PENDING_REPAIRS) {
+            if (be.isRemoved() || !be.hasLevel() || be.isController()) continue;
+            // Repaired once the controller loads and queues its parts, without loading its chunk here
+            if (!Objects.requireNonNull(be.getLevel()).isLoaded(be.controller)) continue;
+            ColoredStorageContainerBlockEntity controllerBE = be.getControllerBE();
+            if (controllerBE != null && controllerBE != be) byController.computeIfAbsent(controllerBE, k -> new ArrayList<>()).add(be);
         }
-    }
-
-    public void setCheckTickRate(int slowTickRate) {
-        this.lazyTickRate = slowTickRate;
-        this.lazyTickCounter = slowTickRate;
+        PENDING_REPAIRS.clear();
+
+        byController.forEach((controllerBE, parts) -> {
+            DyeColor color = controllerBE.getBlockState().getValue(COLOR);
+            Level level = Objects.requireNonNull(controllerBE.getLevel());
+            for (ColoredStorageContainerBlockEntity be : parts) {
+                BlockState state = be.getBlockState();
+                if (state.getValue(COLOR) == color) continue;
+                level.setBlock(be.getBlockPos(), state.setValue(COLOR, color), Block.UPDATE_CLIENTS | Block.UPDATE_KNOWN_SHAPE);
+            }
+        });
     }
 
     @SuppressWarnings("all")
@@ -157,6 +264,9 @@ public class ColoredStorageContainerBlockEntity extends SmartBlockEntity impleme
 
         if (updateConnectivity)
             updateConnectivity();
+
+        if (itemHandler != null && !Objects.requireNonNull(getLevel()).isClientSide() && DnDecorConfigs.server().logistics.compactPartialStacks.get())
+            itemHandler.compactIfIdle(DnDecorConfigs.server().logistics.compactionBudget.get());
     }
 
     @Override
@@ -180,9 +290,17 @@ public class ColoredStorageContainerBlockEntity extends SmartBlockEntity impleme
     public ColoredStorageContainerBlockEntity getControllerBE() {
         if (isController())
             return this;
+        ColoredStorageContainerBlockEntity cached = cachedController == null ? null : cachedController.get();
+        if (cached != null && cached.structureGeneration == cachedControllerGeneration && !cached.isRemoved()
+                && cached.getLevel() == getLevel() && cached.worldPosition.equals(controller))
+            return cached;
+        cachedController = null;
         BlockEntity blockEntity = Objects.requireNonNull(getLevel()).getBlockEntity(controller);
-        if (blockEntity instanceof ColoredStorageContainerBlockEntity be)
+        if (blockEntity instanceof ColoredStorageContainerBlockEntity be) {
+            cachedController = new WeakReference<>(be);
+            cachedControllerGeneration = be.structureGeneration;
             return be;
+        }
         return null;
     }
 
@@ -192,6 +310,9 @@ public class ColoredStorageContainerBlockEntity extends SmartBlockEntity impleme
         controller = null;
         radius = 1;
         length = 1;
+        structureGeneration++;
+        colorCountsValid = false;
+        trackColor();
 
         BlockState state = getBlockState();
         if (ColoredStorageContainerBlock.isVault(state)) {
@@ -199,10 +320,8 @@ public class ColoredStorageContainerBlockEntity extends SmartBlockEntity impleme
             getLevel().setBlock(worldPosition, state, 22);
         }
 
-        itemCapability = null;
-        invalidateCapabilities();
-        setChanged();
-        sendData();
+        invalidateItemHandler();
+        syncStructure();
     }
 
     @Override
@@ -212,10 +331,11 @@ public class ColoredStorageContainerBlockEntity extends SmartBlockEntity impleme
         if (controller.equals(this.controller))
             return;
         this.controller = controller;
-        itemCapability = null;
-        invalidateCapabilities();
-        setChanged();
-        sendData();
+        structureGeneration++;
+        colorCountsValid = false;
+        trackColor();
+        invalidateItemHandler();
+        syncStructure();
     }
 
     @Override
@@ -224,38 +344,89 @@ public class ColoredStorageContainerBlockEntity extends SmartBlockEntity impleme
     }
 
     public void updateColors() {
-        Objects.requireNonNull(getLevel()).setBlockAndUpdate(getControllerBE().getBlockPos(), getControllerBE().getBlockState().setValue(COLOR, getMostColor()));
-        if (isController()) for (int y = 0; y < radius; y++) for (int z = 0; z < (getControllerBE().axis == Direction.Axis.X ? radius : length); z++) for (int x = 0; x < (getControllerBE().axis == Direction.Axis.Z ? radius : length); x++) {
-            BlockPos pos = getControllerBE().getBlockPos().offset(x, y, z);
-            BlockState stateAtPos = Objects.requireNonNull(getLevel()).getBlockState(pos);
-            if (getLevel().getBlockEntity(pos) instanceof ColoredStorageContainerBlockEntity be && getController() != be.getController()) continue;
-            if (stateAtPos.isAir()) continue;
-            if (!stateAtPos.hasProperty(COLOR)) continue;
-            if (getMostColor() == null) continue;
-
-            getLevel().setBlockAndUpdate(pos, stateAtPos.setValue(COLOR, getMostColor()));
-        }
+        DyeColor color = getMostColor();
+        if (color == null) return;
+        repaint(color);
+    }
+
+    public void repaint(DyeColor color) {
+        ColoredStorageContainerBlockEntity controllerBE = getControllerBE();
+        if (controllerBE == null) return;
+
+        Level level = Objects.requireNonNull(getLevel());
+        BlockPos controllerPos = controllerBE.getBlockPos();
+        controllerBE.forEachPart(pos -> {
+            BlockState stateAtPos = level.getBlockState(pos);
+            if (!stateAtPos.hasProperty(COLOR) || stateAtPos.getValue(COLOR) == color) return;
+            if (!(level.getBlockEntity(pos) instanceof ColoredStorageContainerBlockEntity be) || !controllerPos.equals(be.getController())) return;
+            // No neighbour or shape updates; the chunk batches these into one section update per tick
+            level.setBlock(pos, stateAtPos.setValue(COLOR, color), Block.UPDATE_CLIENTS | Block.UPDATE_KNOWN_SHAPE);
+        });
     }
 
     public DyeColor getMostColor() {
-        Map<DyeColor, Integer> colorCountMap = new HashMap<>();
+        ColoredStorageContainerBlockEntity controllerBE = getControllerBE();
+        if (controllerBE == null) return null;
+        DyeColor colorController = controllerBE.getBlockState().getValue(COLOR);
+        if (!isController()) return colorController;
+
+        if (!colorCountsValid) rebuildColorCounts();
+
+        DyeColor mostColor = colorController;
+        int mostCount = colorCounts[colorController.ordinal()] + 1;
+        for (DyeColor color : COLORS) {
+            if (colorCounts[color.ordinal()] <= mostCount) continue;
+            mostColor = color;
+            mostCount = colorCounts[color.ordinal()];
+        }
+        return mostColor;
+    }
 
-        DyeColor colorController = getControllerBE().getBlockState().getValue(COLOR);
-        colorCountMap.put(colorController, colorCountMap.getOrDefault(colorController, 0) + 1);
+    protected void rebuildColorCounts() {
+        Arrays.fill(colorCounts, 0);
+        colorCountsVersion++;
+        colorCountsValid = true;
+        Level level = Objects.requireNonNull(getLevel());
+        forEachPart(pos -> {
+            if (!(level.getBlockEntity(pos) instanceof ColoredStorageContainerBlockEntity be)) return;
+            if (!worldPosition.equals(be.getController())) return;
+            be.countColorIn(this);
+        });
+    }
 
-        if (isController()) for (int y = 0; y < radius; y++) for (int z = 0; z < (getControllerBE().axis == Direction.Axis.X ? radius : length); z++) for (int x = 0; x < (getControllerBE().axis == Direction.Axis.Z ? radius : length); x++) {
-            BlockPos pos = getControllerBE().getBlockPos().offset(x, y, z);
-            BlockState stateAtPos = Objects.requireNonNull(getLevel()).getBlockState(pos);
-            if (getLevel().getBlockEntity(pos) instanceof ColoredStorageContainerBlockEntity be && getController() != be.getController()) continue;
-            if (stateAtPos.isAir()) continue;
-            if (!stateAtPos.hasProperty(COLOR)) continue;
-            DyeColor color = stateAtPos.getValue(COLOR);
+    protected void trackColor() {
+        if (!hasLevel() || Objects.requireNonNull(getLevel()).isClientSide()) return;
+        ColoredStorageContainerBlockEntity controllerBE = getControllerBE();
+        countColorIn(controllerBE != null && controllerBE.colorCountsValid ? controllerBE : null);
+    }
 
-            colorCountMap.put(color, colorCountMap.getOrDefault(color, 0) + 1);
+    protected void countColorIn(@Nullable ColoredStorageContainerBlockEntity controllerBE) {
+        DyeColor color = ColoredStorageContainerBlock.isVault(getBlockState()) ? getBlockState().getValue(COLOR) : null;
+        if (color == null) controllerBE = null;
+        if (countedIn != null && countedIn.colorCountsVersion == countedVersion) {
+            if (countedIn == controllerBE && countedColor == color) return;
+            countedIn.colorCounts[countedColor.ordinal()]--;
         }
-        return colorCountMap.entrySet().stream().max(Map.Entry.comparingByValue()).map(Map.Entry::getKey).orElse(null);
+        countedIn = controllerBE;
+        countedColor = color;
+        if (controllerBE == null) return;
+        controllerBE.colorCounts[color.ordinal()]++;
+        countedVersion = controllerBE.colorCountsVersion;
     }
 
+    @SuppressWarnings("deprecation")
+    @Override
+    public void setBlockState(BlockState blockState) {
+        super.setBlockState(blockState);
+        trackColor();
+    }
+
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        PENDING_REPAIRS.remove(this);
+        countColorIn(null);
+    }
 
     @Override
     protected void read(CompoundTag compound, HolderLookup.Provider registries, boolean clientPacket) {
@@ -286,14 +457,16 @@ public class ColoredStorageContainerBlockEntity extends SmartBlockEntity impleme
 
         @SuppressWarnings("all")
         boolean changeOfController = controllerBefore == null ? controller != null : !controllerBefore.equals(controller);
-        if (hasLevel() && (changeOfController || prevSize != radius || prevLength != length))
+        boolean changeOfStructure = changeOfController || prevSize != radius || prevLength != length;
+        if (changeOfStructure) structureGeneration++;
+        if (hasLevel() && changeOfStructure)
             Objects.requireNonNull(getLevel()).setBlocksDirty(getBlockPos(), Blocks.AIR.defaultBlockState(), getBlockState());
     }
 
     @Override
     protected void write(CompoundTag compound, HolderLookup.Provider registries, boolean clientPacket) {
-        if (updateConnectivity) compound.putBoolean("Uninitialized", true);
-        if (lastKnownPos != null) compound.put("LastKnownPos", NbtUtils.writeBlockPos(lastKnownPos));
+        if (updateConnectivity && !clientPacket) compound.putBoolean("Uninitialized", true);
+        if (lastKnownPos != null && !clientPacket) compound.put("LastKnownPos", NbtUtils.writeBlockPos(lastKnownPos));
         if (!isController()) compound.put("Controller", NbtUtils.writeBlockPos(controller));
         if (isController()) {
             compound.putInt("Size", radius);
@@ -304,10 +477,18 @@ public class ColoredStorageContainerBlockEntity extends SmartBlockEntity impleme
 
         if (!clientPacket) {
             compound.putString("StorageType", "CombinedInv");
-            compound.put("Inventory", inventory.serializeNBT(registries));
+            if (!inventory.isEmpty()) compound.put("Inventory", inventory.serializeNBT(registries));
         }
     }
 
+    @Nullable
+    public ColoredStorageContainerItemHandler getItemHandler() {
+        ColoredStorageContainerBlockEntity controllerBE = getControllerBE();
+        if (controllerBE == null) return null;
+        controllerBE.initCapability();
+        return controllerBE.itemHandler;
+    }
+
     public ItemStackHandler getInventoryOfBlock() {
         return inventory;
     }
@@ -333,15 +514,16 @@ public class ColoredStorageContainerBlockEntity extends SmartBlockEntity impleme
             return;
         }
 
-        boolean alongZ = ColoredStorageContainerBlock.getVaultBlockAxis(getBlockState()) == Direction.Axis.Z;
-        IItemHandlerModifiable[] invs = new IItemHandlerModifiable[length * radius * radius];
-        for (int yOffset = 0; yOffset < length; yOffset++) for (int xOffset = 0; xOffset < radius; xOffset++) for (int zOffset = 0; zOffset < radius; zOffset++) {
-            BlockPos vaultPos = alongZ ? worldPosition.offset(xOffset, zOffset, yOffset) : worldPosition.offset(yOffset, xOffset, zOffset);
+        List<ColoredStorageContainerInventory> parts = new ArrayList<>(length * radius * radius);
+        forEachPart(vaultPos -> {
             ColoredStorageContainerBlockEntity vaultAt = ConnectivityHandler.partAt(DnDecorBETypes.COLORED_STORAGE_CONTAINER.get(), level, vaultPos);
-            invs[yOffset * radius * radius + xOffset * radius + zOffset] = vaultAt != null ? vaultAt.inventory : new ItemStackHandler();
-        }
-        itemCapability = ICapabilityProvider.of(new VersionedInventoryWrapper(new CombinedInvWrapper(invs)));
+            if (vaultAt != null) parts.add(vaultAt.inventory);
+        });
+        if (itemHandler != null) itemHandler.release();
+        itemHandler = new ColoredStorageContainerItemHandler(parts);
+        itemCapability = ICapabilityProvider.of(new ColoredStorageContainerInventoryWrapper(itemHandler));
 
+        boolean alongZ = ColoredStorageContainerBlock.getVaultBlockAxis(getBlockState()) == Direction.Axis.Z;
         BlockPos farCorner = alongZ ? worldPosition.offset(radius, radius, length) : worldPosition.offset(length, radius, radius);
         BoundingBox bounds = BoundingBox.fromCorners(this.worldPosition, farCorner);
         this.invId = new InventoryIdentifier.Bounds(bounds);
@@ -358,9 +540,9 @@ public class ColoredStorageContainerBlockEntity extends SmartBlockEntity impleme
     public void notifyMultiUpdated() {
         BlockState state = this.getBlockState();
         if (ColoredStorageContainerBlock.isVault(state)) Objects.requireNonNull(getLevel()).setBlock(getBlockPos(), state.setValue(ColoredStorageContainerBlock.LARGE, radius > 2), 6);
-        itemCapability = null;
-        invalidateCapabilities();
-        setChanged();
+        structureGeneration++;
+        invalidateItemHandler();
+        if (!deferStructureSync()) setChanged();
     }
 
     @Override
@@ -389,10 +571,16 @@ public class ColoredStorageContainerBlockEntity extends SmartBlockEntity impleme
     public int getWidth() { return radius; }
 
     @Override
-    public void setHeight(int height) { this.length = height; }
+    public void setHeight(int height) {
+        this.length = height;
+        structureGeneration++;
+    }
 
     @Override
-    public void setWidth(int width) { this.radius = width; }
+    public void setWidth(int width) {
+        this.radius = width;
+        structureGeneration++;
+    }
 
     @Override
     public boolean hasInventory() { return true; }
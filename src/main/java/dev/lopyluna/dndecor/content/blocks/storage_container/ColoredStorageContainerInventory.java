@@ -0,0 +1,247 @@
+package dev.lopyluna.dndecor.content.blocks.storage_container;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.core.NonNullList;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.LevelAccessor;
+import net.neoforged.neoforge.items.ItemStackHandler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ColoredStorageContainerInventory extends ItemStackHandler {
+
+    private static final Map<LevelAccessor, Set<ColoredStorageContainerInventory>> UNSAVED = new Reference2ObjectOpenHashMap<>();
+    // Own small pool so a save never queues behind worldgen on the shared background executor
+    private static final ExecutorService ENCODER = Executors.newFixedThreadPool(Mth.clamp(Runtime.getRuntime().availableProcessors() / 4, 1, 2), task -> {
+        Thread thread = new Thread(task, "DnDecor Storage Encoder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Null only for parts built outside a world, such as the inventory benchmarks
+    protected final @Nullable ColoredStorageContainerBlockEntity be;
+    protected ColoredStorageContainerItemHandler owner;
+
+    protected int version;
+    protected int encodedVersion = -1;
+    protected CompoundTag encoded;
+    protected PendingEncode pendingEncode;
+    protected boolean unsaved;
+
+    public ColoredStorageContainerInventory(@Nullable ColoredStorageContainerBlockEntity be, int size) {
+        super(ColoredStorageContainerSlots.empty(size));
+        this.be = be;
+    }
+
+    public ColoredStorageContainerSlots getSlotRange() {
+        return (ColoredStorageContainerSlots) stacks;
+    }
+
+    public boolean isViewOf(ItemStack[] backing, int offset) {
+        return getSlotRange().isViewOf(backing, offset);
+    }
+
+    protected void moveTo(ColoredStorageContainerItemHandler owner, int offset) {
+        this.owner = owner;
+        ColoredStorageContainerSlots slots = getSlotRange();
+        if (slots.isViewOf(owner.backing, offset)) return;
+        slots.copyInto(owner.backing, offset);
+        stacks = new ColoredStorageContainerSlots(owner.backing, offset, slots.size());
+    }
+
+    protected boolean isOwned() {
+        return owner != null && !getSlotRange().isReadOnly() && getSlotRange().backing == owner.backing;
+    }
+
+    public boolean isEmpty() {
+        if (getSlotRange().isReadOnly()) return true;
+        for (ItemStack stack : stacks) if (!stack.isEmpty()) return false;
+        return true;
+    }
+
+    protected void allocate() {
+        if (!getSlotRange().isReadOnly()) return;
+        // An unallocated owner allocates the whole multiblock and moves this part into it
+        if (owner != null && owner.allocateFor(this)) return;
+        stacks = ColoredStorageContainerSlots.allocate(stacks.size());
+    }
+
+    @Override
+    public void setStackInSlot(int slot, @NotNull ItemStack stack) {
+        if (stack.isEmpty() && getSlotRange().isReadOnly()) {
+            validateSlotIndex(slot);
+            return;
+        }
+        allocate();
+        super.setStackInSlot(slot, stack);
+    }
+
+    @Override
+    public @NotNull ItemStack insertItem(int slot, @NotNull ItemStack stack, boolean simulate) {
+        if (!simulate && !stack.isEmpty()) allocate();
+        return super.insertItem(slot, stack, simulate);
+    }
+
+    @Override
+    public void deserializeNBT(HolderLookup.Provider provider, CompoundTag nbt) {
+        setSize(nbt.contains("Size", Tag.TAG_INT) ? nbt.getInt("Size") : stacks.size());
+        ListTag tagList = nbt.getList("Items", Tag.TAG_COMPOUND);
+        if (!tagList.isEmpty()) allocate();
+        for (int i = 0; i < tagList.size(); i++) {
+            CompoundTag itemTags = tagList.getCompound(i);
+            int slot = itemTags.getInt("Slot");
+            if (slot >= 0 && slot < stacks.size()) ItemStack.parse(provider, itemTags).ifPresent(stack -> stacks.set(slot, stack));
+        }
+        onLoad();
+    }
+
+    @Override
+    public CompoundTag serializeNBT(HolderLookup.Provider provider) {
+        if (encoded == null || encodedVersion != version) {
+            CompoundTag snapshot = takePendingEncode();
+            encoded = snapshot != null ? snapshot : encode(provider, stacks);
+            encodedVersion = version;
+        }
+        return encoded.copy();
+    }
+
+    public static void snapshotUnsaved(ServerLevel level) {
+        Set<ColoredStorageContainerInventory> unsaved = UNSAVED.remove(level);
+        if (unsaved == null) return;
+        HolderLookup.Provider provider = level.registryAccess();
+        for (ColoredStorageContainerInventory inventory : unsaved) {
+            inventory.unsaved = false;
+            if (!inventory.be.isRemoved()) inventory.beginEncode(provider);
+        }
+    }
+
+    public static void forgetUnsaved(LevelAccessor level) {
+        Set<ColoredStorageContainerInventory> unsaved = UNSAVED.remove(level);
+        if (unsaved != null) for (ColoredStorageContainerInventory inventory : unsaved) inventory.unsaved = false;
+    }
+
+    protected void beginEncode(HolderLookup.Provider provider) {
+        if (encodedVersion == version || pendingEncode != null && pendingEncode.version == version) return;
+        if (getSlotRange().isReadOnly()) return;
+        NonNullList<ItemStack> snapshot = NonNullList.withSize(stacks.size(), ItemStack.EMPTY);
+        for (int i = 0; i < snapshot.size(); i++) {
+            ItemStack stack = stacks.get(i);
+            if (!stack.isEmpty()) snapshot.set(i, stack.copy());
+        }
+        pendingEncode = new PendingEncode(provider, snapshot, version);
+        ENCODER.execute(pendingEncode);
+    }
+
+    private CompoundTag takePendingEncode() {
+        PendingEncode pending = pendingEncode;
+        if (pending == null) return null;
+        pendingEncode = null;
+        if (pending.version != version) return null;
+        try {
+            return pending.join();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    protected static CompoundTag encode(HolderLookup.Provider provider, NonNullList<ItemStack> stacks) {
+        ListTag nbtTagList = new ListTag();
+        for (int i = 0; i < stacks.size(); i++) {
+            ItemStack stack = stacks.get(i);
+            if (stack.isEmpty()) continue;
+            CompoundTag itemTag = new CompoundTag();
+            itemTag.putInt("Slot", i);
+            nbtTagList.add(stack.save(provider, itemTag));
+        }
+        CompoundTag nbt = new CompoundTag();
+        nbt.put("Items", nbtTagList);
+        nbt.putInt("Size", stacks.size());
+        return nbt;
+    }
+
+    protected void markUnsaved() {
+        if (unsaved || be == null || !be.hasLevel() || be.getLevel().isClientSide()) return;
+        unsaved = true;
+        UNSAVED.computeIfAbsent(be.getLevel(), level -> new ReferenceLinkedOpenHashSet<>()).add(this);
+    }
+
+    @Override
+    public void setSize(int size) {
+        version++;
+        if (size == stacks.size()) {
+            stacks.clear();
+            return;
+        }
+        stacks = ColoredStorageContainerSlots.empty(size);
+        if (be != null) be.onInventoryReplaced();
+    }
+
+    @Override
+    protected void onLoad() {
+        super.onLoad();
+        version++;
+        if (!isOwned()) return;
+        ColoredStorageContainerSlots slots = getSlotRange();
+        owner.reindex(slots.offset, slots.offset + slots.size());
+    }
+
+    @Override
+    protected void onContentsChanged(int slot) {
+        super.onContentsChanged(slot);
+        if (isOwned()) owner.updateIndex(getSlotRange().offset + slot);
+        onSlotChanged(slot);
+    }
+
+    protected void onSlotChanged(int slot) {
+        version++;
+        if (be == null) return;
+        // Slots live in their own part's chunk, which may differ from the controller's
+        if (be.hasLevel()) be.getLevel().blockEntityChanged(be.getBlockPos());
+        markUnsaved();
+        be.onInventoryChanged(slot);
+    }
+
+    // Whichever side claims it first encodes: a worker that got to it, or the saving thread if it has not started yet
+    protected static class PendingEncode implements Runnable {
+        protected final HolderLookup.Provider provider;
+        protected final NonNullList<ItemStack> snapshot;
+        protected final int version;
+        protected final AtomicBoolean claimed = new AtomicBoolean();
+        protected final CompletableFuture<CompoundTag> result = new CompletableFuture<>();
+
+        protected PendingEncode(HolderLookup.Provider provider, NonNullList<ItemStack> snapshot, int version) {
+            this.provider = provider;
+            this.snapshot = snapshot;
+            this.version = version;
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) return;
+            try {
+                result.complete(encode(provider, snapshot));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        protected CompoundTag join() {
+            run();
+            return result.join();
+        }
+    }
+}
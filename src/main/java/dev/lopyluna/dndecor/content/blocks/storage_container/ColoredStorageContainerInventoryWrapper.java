@@ -0,0 +1,37 @@
+package dev.lopyluna.dndecor.content.blocks.storage_container;
+
+import com.simibubi.create.foundation.blockEntity.behaviour.inventory.VersionedInventoryWrapper;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+public class ColoredStorageContainerInventoryWrapper extends VersionedInventoryWrapper {
+
+    protected final ColoredStorageContainerItemHandler handler;
+
+    public ColoredStorageContainerInventoryWrapper(ColoredStorageContainerItemHandler handler) {
+        super(handler);
+        this.handler = handler;
+    }
+
+    public ColoredStorageContainerItemHandler getHandler() {
+        return handler;
+    }
+
+    public ItemStack insertItemStacked(ItemStack stack, boolean simulate) {
+        return handler.insertItemStacked(stack, simulate, this::insertItem);
+    }
+
+    public List<ItemStack> insertItems(List<ItemStack> stacks, boolean simulate) {
+        return handler.insertItems(stacks, simulate, this::insertItem);
+    }
+
+    public ItemStack extractItem(ItemStack filter, int amount, boolean simulate) {
+        return handler.extractItem(filter, amount, simulate, this::extractItem);
+    }
+
+    public List<ItemStack> extractItems(Predicate<ItemStack> filter, int maxItems, boolean simulate) {
+        return handler.extractItems(filter, maxItems, simulate, this::extractItem);
+    }
+}
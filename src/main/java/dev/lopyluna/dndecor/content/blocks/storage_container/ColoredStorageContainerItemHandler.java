@@ -0,0 +1,470 @@
+package dev.lopyluna.dndecor.content.blocks.storage_container;
+
+import com.simibubi.create.content.logistics.packager.InventorySummary;
+import com.simibubi.create.foundation.item.ItemHelper;
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntRBTreeSet;
+import it.unimi.dsi.fastutil.ints.IntSortedSet;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenCustomHashMap;
+import net.minecraft.util.Mth;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.ItemStackLinkedSet;
+import net.neoforged.neoforge.items.ItemStackHandler;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+public class ColoredStorageContainerItemHandler extends ItemStackHandler {
+
+    private static final ItemEntry[] NO_ENTRIES = new ItemEntry[0];
+    private static final int[] NO_COUNTS = new int[0];
+
+    protected ColoredStorageContainerInventory[] parts;
+    protected int[] partOffsets;
+    protected ItemStack[] backing;
+
+    protected final Map<ItemStack, ItemEntry> entries = new Object2ObjectOpenCustomHashMap<>(ItemStackLinkedSet.TYPE_AND_TAG);
+    protected final IntSortedSet freeSlots = new IntRBTreeSet();
+    protected ItemEntry[] slotEntries;
+    protected int[] slotCounts;
+
+    protected final Int2LongOpenHashMap fillByCapacity = new Int2LongOpenHashMap();
+    protected int occupiedSlots;
+    protected int comparatorSignal = -1;
+    protected InventorySummary stockSummary;
+    protected int extractCursor;
+    protected int modCount;
+    protected int compactedModCount = -1;
+    protected boolean compacting;
+    protected boolean compacted;
+    protected int packCursor = -1;
+
+    public ColoredStorageContainerItemHandler(List<ColoredStorageContainerInventory> parts) {
+        super(ColoredStorageContainerSlots.EMPTY);
+        this.parts = parts.toArray(ColoredStorageContainerInventory[]::new);
+        this.partOffsets = new int[this.parts.length];
+
+        int slots = 0;
+        for (int i = 0; i < this.parts.length; i++) {
+            partOffsets[i] = slots;
+            slots += this.parts[i].getSlotRange().size();
+        }
+
+        // Stays on the shared empty view until something is written, like the parts themselves
+        if (allPartsUnallocated()) {
+            stacks = ColoredStorageContainerSlots.empty(slots);
+            backing = getSlotRange().backing;
+            for (ColoredStorageContainerInventory part : this.parts) part.owner = this;
+            slotEntries = NO_ENTRIES;
+            slotCounts = NO_COUNTS;
+            return;
+        }
+        allocate(adoptableBacking(slots), slots);
+    }
+
+    protected boolean allPartsUnallocated() {
+        for (ColoredStorageContainerInventory part : parts) if (!part.getSlotRange().isReadOnly()) return false;
+        return true;
+    }
+
+    protected void allocate(ItemStack[] adopted, int slots) {
+        backing = adopted != null ? adopted : new ItemStack[slots];
+        for (int i = 0; i < parts.length; i++) parts[i].moveTo(this, partOffsets[i]);
+        stacks = new ColoredStorageContainerSlots(backing, 0, slots);
+
+        slotEntries = new ItemEntry[slots];
+        slotCounts = new int[slots];
+        reindex(0, slots);
+    }
+
+    public ColoredStorageContainerSlots getSlotRange() {
+        return (ColoredStorageContainerSlots) stacks;
+    }
+
+    public boolean isUnallocated() {
+        return getSlotRange().isReadOnly();
+    }
+
+    protected void allocate() {
+        if (isUnallocated()) allocate(null, getSlots());
+    }
+
+    protected boolean allocateFor(ColoredStorageContainerInventory part) {
+        if (!isUnallocated()) return false;
+        for (ColoredStorageContainerInventory owned : parts) {
+            if (owned != part) continue;
+            allocate(null, getSlots());
+            return true;
+        }
+        return false;
+    }
+
+    protected ItemStack[] adoptableBacking(int slots) {
+        if (parts.length == 0) return null;
+        ColoredStorageContainerSlots first = parts[0].getSlotRange();
+        if (first.isReadOnly() || first.backing.length != slots) return null;
+        for (int i = 0; i < parts.length; i++) if (!parts[i].isViewOf(first.backing, partOffsets[i])) return null;
+        return first.backing;
+    }
+
+    public boolean contains(ColoredStorageContainerInventory part) {
+        for (int i = 0; i < parts.length; i++) if (parts[i] == part) return isUnallocated() ? part.getSlotRange().isReadOnly() : part.isViewOf(backing, partOffsets[i]);
+        return false;
+    }
+
+    public void release() {
+        parts = new ColoredStorageContainerInventory[0];
+        partOffsets = new int[0];
+        backing = new ItemStack[0];
+        stacks = ColoredStorageContainerSlots.EMPTY;
+        entries.clear();
+        freeSlots.clear();
+        slotEntries = NO_ENTRIES;
+        slotCounts = NO_COUNTS;
+        fillByCapacity.clear();
+        occupiedSlots = 0;
+        comparatorSignal = -1;
+        stockSummary = null;
+    }
+
+    public int getComparatorSignal() {
+        if (comparatorSignal < 0) comparatorSignal = computeComparatorSignal();
+        return comparatorSignal;
+    }
+
+    protected int computeComparatorSignal() {
+        int totalSlots = getSlots();
+        if (totalSlots == 0 || occupiedSlots == 0) return 0;
+        double fill = 0;
+        for (Int2LongMap.Entry entry : fillByCapacity.int2LongEntrySet()) fill += (double) entry.getLongValue() / entry.getIntKey();
+        double scaled = fill / totalSlots * 14;
+        // ItemHelper sums per-slot floats, so close to a step its rounding decides the result
+        double margin = (occupiedSlots + 4) * 0x1p-23 * scaled;
+        if (Math.abs(scaled - Math.rint(scaled)) <= margin) return ItemHelper.calcRedstoneFromInventory(this);
+        return Mth.floor(scaled) + 1;
+    }
+
+    public int countItem(ItemStack stack) {
+        ItemEntry entry = entries.get(stack);
+        return entry == null ? 0 : (int) Math.min(entry.count, Integer.MAX_VALUE);
+    }
+
+    public InventorySummary getStockSummary() {
+        if (stockSummary == null) {
+            InventorySummary summary = new InventorySummary();
+            for (ItemEntry entry : entries.values()) summary.add(entry.key, (int) Math.min(entry.count, Integer.MAX_VALUE));
+            stockSummary = summary;
+        }
+        return stockSummary;
+    }
+
+    public ItemStack insertItemStacked(@NotNull ItemStack stack, boolean simulate) {
+        return insertItemStacked(stack, simulate, this::insertItem);
+    }
+
+    public ItemStack insertItemStacked(@NotNull ItemStack stack, boolean simulate, SlotInserter inserter) {
+        if (stack.isEmpty()) return stack;
+        ItemStack remaining = stack;
+        if (!simulate) allocate();
+        else if (isUnallocated()) return insertInto(0, remaining, inserter);
+
+        ItemEntry entry = entries.get(stack);
+        if (entry != null) remaining = insertInto(entry.partialSlots, remaining, simulate, inserter);
+        if (!remaining.isEmpty()) remaining = insertInto(freeSlots, remaining, simulate, inserter);
+        return remaining;
+    }
+
+    public List<ItemStack> insertItems(List<ItemStack> stacks, boolean simulate, SlotInserter inserter) {
+        if (simulate) return simulateInsertItems(stacks);
+        List<ItemStack> remainders = new ArrayList<>(stacks.size());
+        for (ItemStack stack : stacks) remainders.add(insertItemStacked(stack, false, inserter));
+        return remainders;
+    }
+
+    protected List<ItemStack> simulateInsertItems(List<ItemStack> stacks) {
+        List<ItemStack> remainders = new ArrayList<>(stacks.size());
+        Map<ItemStack, long[]> room = new Object2ObjectOpenCustomHashMap<>(ItemStackLinkedSet.TYPE_AND_TAG);
+        int freeLeft = isUnallocated() ? getSlots() : freeSlots.size();
+        for (ItemStack stack : stacks) {
+            if (stack.isEmpty()) {
+                remainders.add(stack);
+                continue;
+            }
+            long[] typeRoom = room.get(stack);
+            if (typeRoom == null) room.put(stack, typeRoom = new long[] { partialRoom(stack) });
+
+            long remaining = stack.getCount();
+            long merged = Math.min(remaining, typeRoom[0]);
+            typeRoom[0] -= merged;
+            remaining -= merged;
+
+            if (remaining > 0 && freeLeft > 0) {
+                int limit = getStackLimit(isUnallocated() ? 0 : freeSlots.firstInt(), stack);
+                int needed = (int) Math.min(freeLeft, (remaining + limit - 1) / limit);
+                freeLeft -= needed;
+                long placed = Math.min(remaining, (long) needed * limit);
+                typeRoom[0] += (long) needed * limit - placed;
+                remaining -= placed;
+            }
+            remainders.add(remaining == stack.getCount() ? stack : remaining == 0 ? ItemStack.EMPTY : stack.copyWithCount((int) remaining));
+        }
+        return remainders;
+    }
+
+    protected long partialRoom(ItemStack stack) {
+        ItemEntry entry = entries.get(stack);
+        if (entry == null) return 0;
+        long room = 0;
+        for (int slot : entry.partialSlots) room += getStackLimit(slot, backing[slot]) - backing[slot].getCount();
+        return room;
+    }
+
+    public List<ItemStack> extractItems(Predicate<ItemStack> filter, int maxItems, boolean simulate, SlotExtractor extractor) {
+        List<ItemStack> extracted = new ArrayList<>();
+        int slots = getSlots();
+        if (slots == 0 || maxItems <= 0 || occupiedSlots == 0) return extracted;
+
+        int start = extractCursor < slots ? extractCursor : 0;
+        int remaining = maxItems;
+        for (int i = 0; i < slots && remaining > 0; i++) {
+            int slot = (start + i) % slots;
+            if (slotEntries[slot] == null || !filter.test(backing[slot])) continue;
+            ItemStack taken = extractor.extract(slot, remaining, simulate);
+            if (taken.isEmpty()) continue;
+            extracted.add(taken);
+            remaining -= taken.getCount();
+            if (!simulate) extractCursor = slot;
+        }
+        return extracted;
+    }
+
+    public ItemStack extractItem(ItemStack filter, int amount, boolean simulate) {
+        return extractItem(filter, amount, simulate, this::extractItem);
+    }
+
+    public ItemStack extractItem(ItemStack filter, int amount, boolean simulate, SlotExtractor extractor) {
+        ItemEntry entry = entries.get(filter);
+        if (entry == null || amount <= 0) return ItemStack.EMPTY;
+
+        ItemStack extracted = ItemStack.EMPTY;
+        int slot = -1;
+        while (extracted.getCount() < amount) {
+            IntSortedSet candidates = slot < 0 ? entry.slots : entry.slots.tailSet(slot + 1);
+            if (candidates.isEmpty()) break;
+            slot = candidates.firstInt();
+
+            ItemStack taken = extractor.extract(slot, amount - extracted.getCount(), simulate);
+            if (taken.isEmpty()) continue;
+            if (extracted.isEmpty()) extracted = taken;
+            else extracted.grow(taken.getCount());
+        }
+        return extracted;
+    }
+
+    protected ItemStack insertInto(int firstSlot, ItemStack remaining, SlotInserter inserter) {
+        for (int slot = firstSlot; slot < getSlots() && !remaining.isEmpty(); slot++) remaining = inserter.insert(slot, remaining, true);
+        return remaining;
+    }
+
+    protected ItemStack insertInto(IntSortedSet slots, ItemStack remaining, boolean simulate, SlotInserter inserter) {
+        int slot = -1;
+        while (!remaining.isEmpty()) {
+            IntSortedSet candidates = slot < 0 ? slots : slots.tailSet(slot + 1);
+            if (candidates.isEmpty()) break;
+            slot = candidates.firstInt();
+            remaining = inserter.insert(slot, remaining, simulate);
+        }
+        return remaining;
+    }
+
+    public void compactIfIdle(int budget) {
+        if (compactedModCount != modCount) {
+            compactedModCount = modCount;
+            return;
+        }
+        if (compacted || isUnallocated()) return;
+        compacting = true;
+        try {
+            int work = mergePartialStacks(budget);
+            if (work < budget) packTowardLowSlots(budget - work);
+        } finally {
+            compacting = false;
+        }
+    }
+
+    protected int mergePartialStacks(int budget) {
+        int work = 0;
+        for (ItemEntry entry : entries.values()) {
+            while (entry.partialSlots.size() > 1) {
+                if (work >= budget) return work;
+                int target = entry.partialSlots.firstInt();
+                int source = entry.partialSlots.lastInt();
+                ItemStack into = backing[target];
+                ItemStack from = backing[source];
+                int moved = Math.min(getStackLimit(target, into) - into.getCount(), from.getCount());
+                setStackInSlot(target, into.copyWithCount(into.getCount() + moved));
+                setStackInSlot(source, moved == from.getCount() ? ItemStack.EMPTY : from.copyWithCount(from.getCount() - moved));
+                work++;
+            }
+        }
+        return work;
+    }
+
+    protected void packTowardLowSlots(int budget) {
+        if (packCursor < 0 || packCursor >= getSlots()) packCursor = getSlots() - 1;
+        for (int work = 0; work < budget; work++) {
+            if (freeSlots.isEmpty() || packCursor <= freeSlots.firstInt()) {
+                compacted = true;
+                packCursor = -1;
+                return;
+            }
+            if (slotEntries[packCursor] != null) {
+                ItemStack stack = backing[packCursor];
+                setStackInSlot(freeSlots.firstInt(), stack);
+                setStackInSlot(packCursor, ItemStack.EMPTY);
+            }
+            packCursor--;
+        }
+    }
+
+    protected void reindex(int from, int to) {
+        onExternalChange();
+        for (int slot = from; slot < to; slot++) {
+            unindex(slot);
+            index(slot);
+        }
+    }
+
+    protected void onExternalChange() {
+        if (compacting) return;
+        modCount++;
+        compacted = false;
+        packCursor = -1;
+    }
+
+    protected void updateIndex(int slot) {
+        onExternalChange();
+        ItemEntry entry = slotEntries[slot];
+        ItemStack stack = backing[slot];
+        if (entry != null && !stack.isEmpty() && ItemStack.isSameItemSameComponents(entry.key, stack)) {
+            entry.count += stack.getCount() - slotCounts[slot];
+            fillByCapacity.addTo(fillCapacity(slot, entry), stack.getCount() - slotCounts[slot]);
+            slotCounts[slot] = stack.getCount();
+            comparatorSignal = -1;
+            stockSummary = null;
+            updatePartial(entry, slot, stack);
+            return;
+        }
+        unindex(slot);
+        index(slot);
+    }
+
+    protected void index(int slot) {
+        ItemStack stack = backing[slot];
+        if (stack.isEmpty()) {
+            freeSlots.add(slot);
+            return;
+        }
+
+        ItemEntry entry = entries.get(stack);
+        if (entry == null) {
+            entry = new ItemEntry(stack.copyWithCount(1));
+            entries.put(entry.key, entry);
+        }
+        entry.slots.add(slot);
+        entry.count += stack.getCount();
+        slotEntries[slot] = entry;
+        slotCounts[slot] = stack.getCount();
+        fillByCapacity.addTo(fillCapacity(slot, entry), stack.getCount());
+        occupiedSlots++;
+        comparatorSignal = -1;
+        stockSummary = null;
+        updatePartial(entry, slot, stack);
+    }
+
+    protected void unindex(int slot) {
+        ItemEntry entry = slotEntries[slot];
+        if (entry == null) {
+            freeSlots.remove(slot);
+            return;
+        }
+
+        entry.slots.remove(slot);
+        entry.partialSlots.remove(slot);
+        entry.count -= slotCounts[slot];
+        long fill = fillByCapacity.addTo(fillCapacity(slot, entry), -slotCounts[slot]) - slotCounts[slot];
+        if (fill == 0) fillByCapacity.remove(fillCapacity(slot, entry));
+        occupiedSlots--;
+        comparatorSignal = -1;
+        stockSummary = null;
+        if (entry.slots.isEmpty()) entries.remove(entry.key);
+        slotEntries[slot] = null;
+        slotCounts[slot] = 0;
+    }
+
+    protected void updatePartial(ItemEntry entry, int slot, ItemStack stack) {
+        if (stack.getCount() < getStackLimit(slot, stack)) entry.partialSlots.add(slot);
+        else entry.partialSlots.remove(slot);
+    }
+
+    protected int fillCapacity(int slot, ItemEntry entry) {
+        return Math.min(getSlotLimit(slot), entry.key.getMaxStackSize());
+    }
+
+    protected int partIndex(int slot) {
+        int index = Arrays.binarySearch(partOffsets, slot);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    @Override
+    public void setStackInSlot(int slot, @NotNull ItemStack stack) {
+        if (stack.isEmpty() && isUnallocated()) {
+            validateSlotIndex(slot);
+            return;
+        }
+        allocate();
+        super.setStackInSlot(slot, stack);
+    }
+
+    @Override
+    public @NotNull ItemStack insertItem(int slot, @NotNull ItemStack stack, boolean simulate) {
+        if (!simulate && !stack.isEmpty()) allocate();
+        return super.insertItem(slot, stack, simulate);
+    }
+
+    @Override
+    public void setSize(int size) {}
+
+    @Override
+    protected void onContentsChanged(int slot) {
+        updateIndex(slot);
+        int index = partIndex(slot);
+        parts[index].onSlotChanged(slot - partOffsets[index]);
+    }
+
+    @FunctionalInterface
+    public interface SlotInserter {
+        ItemStack insert(int slot, ItemStack stack, boolean simulate);
+    }
+
+    @FunctionalInterface
+    public interface SlotExtractor {
+        ItemStack extract(int slot, int amount, boolean simulate);
+    }
+
+    protected static class ItemEntry {
+        protected final ItemStack key;
+        protected final IntSortedSet slots = new IntRBTreeSet();
+        protected final IntSortedSet partialSlots = new IntRBTreeSet();
+        protected long count;
+
+        protected ItemEntry(ItemStack key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package dev.lopyluna.dndecor.content.blocks.storage_container;
+
+import net.minecraft.core.NonNullList;
+import net.minecraft.world.item.ItemStack;
+import org.apache.commons.lang3.Validate;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+public class ColoredStorageContainerSlots extends NonNullList<ItemStack> {
+
+    private static ItemStack[] emptyBacking = filledWithEmpty(64);
+
+    public static final ColoredStorageContainerSlots EMPTY = empty(0);
+
+    protected final ItemStack[] backing;
+    protected final int offset;
+    protected final int size;
+    protected final boolean readOnly;
+
+    public ColoredStorageContainerSlots(ItemStack[] backing, int offset, int size) {
+        this(backing, offset, size, false);
+    }
+
+    protected ColoredStorageContainerSlots(ItemStack[] backing, int offset, int size, boolean readOnly) {
+        super(Arrays.asList(backing).subList(offset, offset + size), ItemStack.EMPTY);
+        this.backing = backing;
+        this.offset = offset;
+        this.size = size;
+        this.readOnly = readOnly;
+    }
+
+    public static ColoredStorageContainerSlots allocate(int size) {
+        return new ColoredStorageContainerSlots(filledWithEmpty(size), 0, size);
+    }
+
+    public static synchronized ColoredStorageContainerSlots empty(int size) {
+        if (emptyBacking.length < size) emptyBacking = filledWithEmpty(size);
+        return new ColoredStorageContainerSlots(emptyBacking, 0, size, true);
+    }
+
+    private static ItemStack[] filledWithEmpty(int size) {
+        ItemStack[] backing = new ItemStack[size];
+        Arrays.fill(backing, ItemStack.EMPTY);
+        return backing;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    public boolean isViewOf(ItemStack[] backing, int offset) {
+        return this.backing == backing && this.offset == offset;
+    }
+
+    public void copyInto(ItemStack[] target, int targetOffset) {
+        System.arraycopy(backing, offset, target, targetOffset, size);
+    }
+
+    @Override
+    public @NotNull ItemStack get(int index) {
+        return backing[offset + checkIndex(index)];
+    }
+
+    @Override
+    public @NotNull ItemStack set(int index, @NotNull ItemStack stack) {
+        Validate.notNull(stack);
+        if (readOnly) throw new UnsupportedOperationException("Shared empty slots cannot be modified");
+        int i = offset + checkIndex(index);
+        ItemStack previous = backing[i];
+        backing[i] = stack;
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        if (!readOnly) super.clear();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Slot " + index + " not in valid range - [0," + size + ")");
+        return index;
+    }
+}
@@ -7,6 +7,9 @@ import org.jetbrains.annotations.NotNull;
 public class DClient extends ConfigBase {
     public final ConfigGroup client = group(0,
             "client", "Configs for the Client");
+    public final ConfigInt beltItemSimplifyDistance = i(24, 0, 256, "beltItemSimplifyDistance", Comments.beltItemSimplifyDistance);
+    public final ConfigInt beltItemGroupDistance = i(48, 0, 256, "beltItemGroupDistance", Comments.beltItemGroupDistance);
+    public final ConfigInt beltItemCullDistance = i(96, 0, 256, "beltItemCullDistance", Comments.beltItemCullDistance);
 
     @Override
     public @NotNull String getName() {
@@ -16,5 +19,8 @@ public class DClient extends ConfigBase {
     private static class Comments {
 
         static String ponder = "Ponder settings";
+        static String beltItemSimplifyDistance = "Beyond this many blocks, items on full belts render as a single flat layer instead of a stacked pile.";
+        static String beltItemGroupDistance = "Beyond this many blocks, only one item per full belt segment is rendered.";
+        static String beltItemCullDistance = "Beyond this many blocks, items on full belts are not rendered.";
     }
 }
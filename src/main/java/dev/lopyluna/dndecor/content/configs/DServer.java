@@ -1,6 +1,7 @@
 package dev.lopyluna.dndecor.content.configs;
 
 import dev.lopyluna.dndecor.content.configs.server.DKinetics;
+import dev.lopyluna.dndecor.content.configs.server.DLogistics;
 import net.createmod.catnip.config.ConfigBase;
 import org.jetbrains.annotations.NotNull;
 
@@ -9,6 +10,7 @@ public class DServer extends ConfigBase {
             "server", "Configs for the World");
 
     public final DKinetics kinetics = nested(0, DKinetics::new, "Parameters and abilities of DnDecor's kinetic mechanisms");
+    public final DLogistics logistics = nested(0, DLogistics::new, "Parameters and abilities of DnDecor's logistical components");
 
     @Override
     public @NotNull String getName() {
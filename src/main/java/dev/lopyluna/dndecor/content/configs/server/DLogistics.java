@@ -0,0 +1,22 @@
+package dev.lopyluna.dndecor.content.configs.server;
+
+import net.createmod.catnip.config.ConfigBase;
+import org.jetbrains.annotations.NotNull;
+
+public class DLogistics extends ConfigBase {
+
+    public final ConfigBool coalesceComparatorUpdates = b(true, "coalesceComparatorUpdates", Comments.coalesceComparatorUpdates);
+    public final ConfigBool compactPartialStacks = b(false, "compactPartialStacks", Comments.compactPartialStacks);
+    public final ConfigInt compactionBudget = i(32, 1, 1024, "compactionBudget", Comments.compactionBudget);
+
+    @Override
+    public @NotNull String getName() {
+        return "logistics";
+    }
+
+    private static class Comments {
+        static String coalesceComparatorUpdates = "Storage Containers notify adjacent comparators at most once per server tick, no matter how many slots changed during that tick.";
+        static String compactPartialStacks = "Storage Containers merge partial stacks of the same item and pack them toward the first slots on ticks without inventory traffic.";
+        static String compactionBudget = "Maximum slots a Storage Container visits or moves per tick while compacting.";
+    }
+}
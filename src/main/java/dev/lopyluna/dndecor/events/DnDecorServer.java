@@ -8,6 +8,8 @@ import com.simibubi.create.content.trains.display.FlapDisplayBlock;
 import com.simibubi.create.foundation.utility.BlockHelper;
 import com.tterrag.registrate.util.nullness.NonNullSupplier;
 import dev.lopyluna.dndecor.DnDecorUtils;
+import dev.lopyluna.dndecor.content.blocks.storage_container.ColoredStorageContainerBlockEntity;
+import dev.lopyluna.dndecor.content.blocks.storage_container.ColoredStorageContainerInventory;
 import dev.lopyluna.dndecor.register.DnDecorBlocks;
 import dev.lopyluna.dndecor.register.helpers.list_providers.MaterialTypeProvider;
 import net.minecraft.core.BlockPos;
@@ -29,10 +31,23 @@ import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.neoforge.common.Tags;
 import net.neoforged.neoforge.event.entity.player.UseItemOnBlockEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
 
 @EventBusSubscriber(bus = EventBusSubscriber.Bus.GAME)
 public class DnDecorServer {
 
+    @SubscribeEvent
+    public static void onServerTickPost(ServerTickEvent.Post event) {
+        ColoredStorageContainerBlockEntity.flushRepairs();
+        ColoredStorageContainerBlockEntity.flushComparatorUpdates();
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        ColoredStorageContainerInventory.forgetUnsaved(event.getLevel());
+    }
+
     @SubscribeEvent
     public static void onItemUseOnBlock(UseItemOnBlockEvent event) {
         var level = event.getLevel();
@@ -0,0 +1,27 @@
+package dev.lopyluna.dndecor.mixins;
+
+import com.llamalad7.mixinextras.injector.wrapoperation.Operation;
+import com.llamalad7.mixinextras.injector.wrapoperation.WrapOperation;
+import com.llamalad7.mixinextras.sugar.Local;
+import com.simibubi.create.content.logistics.packager.InventorySummary;
+import com.simibubi.create.content.logistics.packager.PackagerBlockEntity;
+import dev.lopyluna.dndecor.content.blocks.storage_container.ColoredStorageContainerInventoryWrapper;
+import net.neoforged.neoforge.items.IItemHandler;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Slice;
+
+@Mixin(value = PackagerBlockEntity.class, remap = false)
+public abstract class PackagerBlockEntityMixin {
+
+    // Only the slot scan is replaced; version tracking and new-arrival promises still run afterwards.
+    // The slice ends at the scan's first add, so only the loop guard is wrapped
+    @WrapOperation(method = "getAvailableItems()Lcom/simibubi/create/content/logistics/packager/InventorySummary;",
+            slice = @Slice(to = @At(value = "INVOKE", target = "Lcom/simibubi/create/content/logistics/packager/InventorySummary;add(Lnet/minecraft/world/item/ItemStack;)V")),
+            at = @At(value = "INVOKE", target = "Lnet/neoforged/neoforge/items/IItemHandler;getSlots()I"), require = 1, allow = 1)
+    public int useStorageContainerSummary(IItemHandler instance, Operation<Integer> original, @Local InventorySummary availableItems) {
+        if (!(instance instanceof ColoredStorageContainerInventoryWrapper wrapper)) return original.call(instance);
+        availableItems.add(wrapper.getHandler().getStockSummary());
+        return 0;
+    }
+}
@@ -0,0 +1,17 @@
+package dev.lopyluna.dndecor.mixins;
+
+import dev.lopyluna.dndecor.content.blocks.storage_container.ColoredStorageContainerInventory;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.ProgressListener;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(value = ServerLevel.class, remap = false)
+public abstract class ServerLevelMixin {
+    @Inject(method = "save(Lnet/minecraft/util/ProgressListener;ZZ)V", at = @At("HEAD"))
+    public void snapshotStorageContainers(ProgressListener progress, boolean flush, boolean skipSave, CallbackInfo ci) {
+        if (!skipSave) ColoredStorageContainerInventory.snapshotUnsaved((ServerLevel) (Object) this);
+    }
+}